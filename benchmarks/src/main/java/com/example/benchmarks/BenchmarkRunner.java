@@ -0,0 +1,123 @@
+package com.example.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares throughput and bytes allocated per operation
+ * with baseline.json. Exits with status 1 when a benchmark got slower or allocates more than the
+ * configured tolerances allow; -Dbenchmarks.update-baseline=true rewrites the baseline instead.
+ * Throughput depends on the machine, so it is only comparable with a baseline recorded on the same
+ * hardware; allocation per operation is comparable anywhere.
+ */
+public final class BenchmarkRunner {
+
+    // Allocation differences below this many bytes per operation are noise (e.g. escape analysis)
+    private static final double ALLOC_SLACK_BYTES = 16;
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = System.getProperty("benchmarks.include", "com.example.benchmarks");
+        File baselineFile = new File(System.getProperty("benchmarks.baseline", "baseline.json"));
+        String resultFile = System.getProperty("benchmarks.result", "target/jmh-result.json");
+        boolean updateBaseline = Boolean.getBoolean("benchmarks.update-baseline");
+        double maxThroughputDrop = Double.parseDouble(System.getProperty("benchmarks.max-throughput-drop", "0.30"));
+        double maxAllocIncrease = Double.parseDouble(System.getProperty("benchmarks.max-alloc-increase", "0.10"));
+
+        Collection<RunResult> runResults = new Runner(new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile)
+            .build()).run();
+
+        Map<String, Score> scores = new TreeMap<>();
+        for (RunResult runResult : runResults) {
+            scores.put(name(runResult.getParams()), new Score(
+                Math.round(runResult.getPrimaryResult().getScore()),
+                Math.round(allocatedBytesPerOp(runResult) * 10) / 10.0));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        if (updateBaseline) {
+            Map<String, Score> baseline = new TreeMap<>(readBaseline(objectMapper, baselineFile));
+            baseline.putAll(scores);
+            objectMapper.writeValue(baselineFile, baseline);
+            System.out.printf("%nBaseline %s updated with %d benchmarks%n", baselineFile, scores.size());
+            return;
+        }
+
+        Map<String, Score> baseline = readBaseline(objectMapper, baselineFile);
+        int regressions = 0;
+        System.out.printf("%n%-48s %14s %14s %8s %12s %12s %8s%n",
+            "Benchmark", "ops/s", "baseline", "change", "B/op", "baseline", "change");
+        for (Map.Entry<String, Score> entry : scores.entrySet()) {
+            Score score = entry.getValue();
+            Score base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-48s %14d %14s %8s %12.1f %12s %8s%n",
+                    entry.getKey(), score.opsPerSec(), "-", "new", score.bytesPerOp(), "-", "new");
+                continue;
+            }
+            double throughputChange = (double) (score.opsPerSec() - base.opsPerSec()) / base.opsPerSec();
+            double allocDelta = score.bytesPerOp() - base.bytesPerOp();
+            boolean slower = throughputChange < -maxThroughputDrop;
+            boolean allocates = allocDelta > Math.max(base.bytesPerOp() * maxAllocIncrease, ALLOC_SLACK_BYTES);
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-48s %14d %14d %+7.1f%%%s %12.1f %12.1f %+7.1f%%%s%n",
+                entry.getKey(), score.opsPerSec(), base.opsPerSec(), throughputChange * 100, slower ? "!" : " ",
+                score.bytesPerOp(), base.bytesPerOp(),
+                base.bytesPerOp() > 0 ? allocDelta / base.bytesPerOp() * 100 : 0.0, allocates ? "!" : " ");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%n%d benchmarks regressed (throughput drop > %.0f%% or allocation increase > %.0f%%)%n",
+                regressions, maxThroughputDrop * 100, maxAllocIncrease * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> readBaseline(ObjectMapper objectMapper, File baselineFile) throws IOException {
+        return baselineFile.exists() ? objectMapper.readerForMapOf(Score.class).readValue(baselineFile) : Map.of();
+    }
+
+    private static double allocatedBytesPerOp(RunResult runResult) {
+        for (Map.Entry<String, Result> secondary : runResult.getSecondaryResults().entrySet()) {
+            if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                return secondary.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+
+    // com.example.benchmarks.ClientIpBenchmark.resolve with @Param route=proxy -> ClientIpBenchmark.resolve:route=proxy
+    private static String name(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        String className = benchmark.substring(0, benchmark.lastIndexOf('.'));
+        StringBuilder name = new StringBuilder(benchmark.substring(className.lastIndexOf('.') + 1));
+        for (String key : params.getParamsKeys()) {
+            name.append(':').append(key).append('=').append(params.getParam(key));
+        }
+        return name.toString();
+    }
+
+    record Score(long opsPerSec, double bytesPerOp) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.benchmarks;
+
+import com.example.controller.ClientIpResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client address extraction done for every write request: the index-scanning ClientIpResolver
+ * against the split-based X-Forwarded-For parsing it replaced, for a direct client, a client behind
+ * one proxy and a three-hop chain (the binary form stored with the submission is in MapperBenchmark.toEntity)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientIpBenchmark {
+
+    @Param({"direct", "proxy", "chain"})
+    public String route;
+
+    private ClientIpResolver resolver;
+    private String remoteAddr;
+    private String forwardedFor;
+
+    @Setup
+    public void setUp() {
+        resolver = new ClientIpResolver(List.of("10.0.0.0/8", "192.168.0.0/16", "172.16.0.0/12", "127.0.0.0/8"));
+        switch (route) {
+            case "direct" -> remoteAddr = "203.0.113.42";
+            case "proxy" -> {
+                remoteAddr = "10.0.0.2";
+                forwardedFor = "203.0.113.42";
+            }
+            case "chain" -> {
+                remoteAddr = "10.0.0.2";
+                forwardedFor = "198.51.100.7, 203.0.113.42, 10.0.0.1";
+            }
+            default -> throw new IllegalArgumentException("Unknown route " + route);
+        }
+    }
+
+    @Benchmark
+    public String resolve() {
+        return resolver.clientIp(remoteAddr, forwardedFor, null);
+    }
+
+    @Benchmark
+    public String splitHeader() {
+        // The former FormSubmissionController.getClientIpAddress
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            return forwardedFor.split(",")[0].trim();
+        }
+        return remoteAddr;
+    }
+}
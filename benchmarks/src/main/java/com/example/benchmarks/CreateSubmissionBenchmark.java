@@ -0,0 +1,72 @@
+package com.example.benchmarks;
+
+import com.example.FormSubmissionApplication;
+import com.example.entity.FormSubmissionEntity;
+import com.example.mapper.FormSubmissionMapper;
+import com.example.service.FormSubmissionService;
+import com.example.service.FormSubmissionService.BatchItemResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FormSubmissionService.createSubmission end to end against the embedded H2 database:
+ * duplicate check, insert, search index, outbox entry and counters, in one transaction.
+ * createSubmissions is the batched path of POST /batch and the CSV import, scored per row so the two compare directly.
+ * The outbox dispatcher delivers to the in-memory sheet in the background, as it would in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateSubmissionBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private FormSubmissionService formSubmissionService;
+    private FormSubmissionMapper mapper;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        // Arguments rather than default properties, which application.yml would override
+        context = new SpringApplicationBuilder(FormSubmissionApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--google.sheets.sink=memory",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example=WARN");
+        formSubmissionService = context.getBean(FormSubmissionService.class);
+        mapper = context.getBean(FormSubmissionMapper.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public FormSubmissionEntity createSubmission() {
+        // Single-threaded state, every submit needs an email that has not been used yet
+        return formSubmissionService.createSubmission(mapper.toEntity(Fixtures.request("bench" + sequence++ + "@example.com")));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResult> createSubmissions() {
+        List<FormSubmissionEntity> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(mapper.toEntity(Fixtures.request("bench" + sequence++ + "@example.com")));
+        }
+        return formSubmissionService.createSubmissions(batch);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.benchmarks;
+
+import com.example.dto.FormSubmissionRequestDto;
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Submissions shaped like a typical form post
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static FormSubmissionRequestDto request(String email) {
+        FormSubmissionRequestDto dto = new FormSubmissionRequestDto();
+        dto.setName("Benchmark User");
+        dto.setEmail(email);
+        dto.setAddress("221B Baker Street, London NW1 6XE");
+        dto.setPhoneNumber("+44 20 7946 0958");
+        dto.setComments("Please get back to me about the spring opening hours.");
+        dto.setSubmittedByIp("203.0.113.42");
+        return dto;
+    }
+
+    static FormSubmissionEntity entity(long id) {
+        FormSubmissionEntity entity = new FormSubmissionEntity();
+        entity.setId(id);
+        entity.setName("Benchmark User");
+        entity.setEmail("user" + id + "@example.com");
+        entity.setAddress("221B Baker Street, London NW1 6XE");
+        entity.setPhoneNumber("+44 20 7946 0958");
+        entity.setComments("Please get back to me about the spring opening hours.");
+        entity.setStatus(SubmissionStatus.PENDING);
+        entity.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0));
+        entity.setUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 45, 0));
+        entity.setSubmittedByIp("203.0.113.42");
+        return entity;
+    }
+}
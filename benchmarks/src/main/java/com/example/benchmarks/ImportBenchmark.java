@@ -0,0 +1,82 @@
+package com.example.benchmarks;
+
+import com.example.FormSubmissionApplication;
+import com.example.service.SubmissionImportService;
+import com.example.service.SubmissionImportService.ImportResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SubmissionImportService.importCsv against the embedded H2 database, scored per row:
+ * parsing, validation, duplicate checks and chunked inserts. One row in a hundred is invalid
+ * and one in a hundred repeats an earlier email, so the error report is written as well.
+ * A file of 1000 rows takes a fraction of a second, hence the longer warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private SubmissionImportService submissionImportService;
+    private Path reportDir;
+    private Path report;
+    private byte[] csv;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Arguments rather than default properties, which application.yml would override
+        context = new SpringApplicationBuilder(FormSubmissionApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--google.sheets.sink=memory",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example=WARN");
+        submissionImportService = context.getBean(SubmissionImportService.class);
+        reportDir = Files.createTempDirectory("import-benchmark");
+        report = reportDir.resolve("errors.csv");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(report);
+        Files.deleteIfExists(reportDir);
+    }
+
+    // Every file needs emails that earlier invocations have not imported yet; built outside the measurement
+    @Setup(Level.Invocation)
+    public void nextFile() {
+        StringBuilder file = new StringBuilder("Name,Email,Address,Phone Number,Comments\n");
+        for (int i = 0; i < ROWS; i++) {
+            long row = sequence++;
+            String name = i % 100 == 50 ? "" : "Import User " + row;
+            String email = i % 100 == 99 ? "import-" + (row - 1) + "@example.com" : "import-" + row + "@example.com";
+            file.append(name).append(',').append(email).append(',').append(row).append(" Import Street,555-")
+                .append(row).append(",\"Imported, row ").append(row).append("\"\n");
+        }
+        csv = file.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportResult importCsv() throws IOException {
+        return submissionImportService.importCsv(new ByteArrayInputStream(csv), "127.0.0.1", report);
+    }
+}
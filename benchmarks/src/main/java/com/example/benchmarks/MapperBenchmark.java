@@ -0,0 +1,41 @@
+package com.example.benchmarks;
+
+import com.example.dto.FormSubmissionRequestDto;
+import com.example.dto.FormSubmissionResponseDto;
+import com.example.entity.FormSubmissionEntity;
+import com.example.mapper.FormSubmissionMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FormSubmissionMapper conversions done once per submit and once per returned submission
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final FormSubmissionMapper mapper = new FormSubmissionMapper();
+    private FormSubmissionRequestDto request;
+    private FormSubmissionEntity entity;
+
+    @Setup
+    public void setUp() {
+        request = Fixtures.request("user@example.com");
+        entity = Fixtures.entity(1);
+    }
+
+    @Benchmark
+    public FormSubmissionEntity toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public FormSubmissionResponseDto toResponseDto() {
+        return mapper.toResponseDto(entity);
+    }
+}
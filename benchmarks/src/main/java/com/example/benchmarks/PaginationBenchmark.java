@@ -0,0 +1,127 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of 20 at increasing depth: offset pagination (LIMIT/OFFSET plus the COUNT(*) a Spring Page needs)
+ * versus keyset pagination on (created_at, id), over 500k rows in the embedded H2 database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"0", "10000", "250000", "499980"})
+    private int depth;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement countQuery;
+    private PreparedStatement keysetQuery;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // Without OPTIMIZE_REUSE_RESULTS=0, H2 answers a repeated query from the previous result
+        connection = DriverManager.getConnection("jdbc:h2:mem:pagination-benchmark;OPTIMIZE_REUSE_RESULTS=0", "sa", "");
+        load();
+
+        offsetQuery = connection.prepareStatement(
+            "SELECT id, created_at FROM form_submissions ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?");
+        offsetQuery.setInt(1, PAGE_SIZE);
+        offsetQuery.setInt(2, depth);
+        countQuery = connection.prepareStatement("SELECT COUNT(*) FROM form_submissions");
+
+        // The cursor handed out with the previous page is the row just before this one
+        long cursorId = ROWS - depth + 1L;
+        Timestamp cursorCreatedAt = Timestamp.valueOf(createdAt(cursorId));
+        keysetQuery = connection.prepareStatement("SELECT id, created_at FROM form_submissions "
+            + "WHERE created_at <= ? AND (created_at < ? OR id < ?) ORDER BY created_at DESC, id DESC LIMIT ?");
+        keysetQuery.setTimestamp(1, cursorCreatedAt);
+        keysetQuery.setTimestamp(2, cursorCreatedAt);
+        keysetQuery.setLong(3, cursorId);
+        keysetQuery.setInt(4, PAGE_SIZE);
+
+        if (!ids(offsetQuery).equals(ids(keysetQuery))) {
+            throw new IllegalStateException("Offset and keyset queries return different pages at depth " + depth);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long offsetAndCount() throws SQLException {
+        List<Long> page = ids(offsetQuery);
+        try (ResultSet resultSet = countQuery.executeQuery()) {
+            resultSet.next();
+            return page.size() + resultSet.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public List<Long> keyset() throws SQLException {
+        return ids(keysetQuery);
+    }
+
+    private void load() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE form_submissions (id BIGINT PRIMARY KEY, name VARCHAR(100), "
+                + "created_at TIMESTAMP NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO form_submissions (id, name, created_at) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= ROWS; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "User " + id);
+                insert.setTimestamp(3, Timestamp.valueOf(createdAt(id)));
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_form_submissions_created_at ON form_submissions(created_at DESC, id DESC)");
+        }
+    }
+
+    // Ten rows share each timestamp, so the id tie-breaker is exercised
+    private static LocalDateTime createdAt(long id) {
+        return START.plusSeconds(id / 10);
+    }
+
+    private static List<Long> ids(PreparedStatement statement) throws SQLException {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
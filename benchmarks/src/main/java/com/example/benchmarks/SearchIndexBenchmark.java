@@ -0,0 +1,131 @@
+package com.example.benchmarks;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.service.search.SubmissionSearchIndex;
+import com.example.service.search.SubmissionSearchIndex.SearchField;
+import com.example.service.search.SubmissionSearchIndex.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of 20 matches from the trigram index versus the LOWER(col) LIKE '%q%' query it replaced,
+ * over the same synthetic rows in the embedded H2 database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchIndexBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Wei", "Fatima", "Carlos", "Aiko", "Olga", "Kwame",
+        "Priya", "Lucas", "Emma", "Noah", "Sofia", "Liam", "Chen", "Amara", "Ivan", "Yuki", "Omar", "Elena"};
+    private static final String[] LAST_NAMES = {"Smith", "Garcia", "Zhang", "Okafor", "Novak", "Tanaka", "Silva",
+        "Kowalski", "Haddad", "Johansson", "Patel", "Nguyen", "Muller", "Rossi", "Kim", "Dubois", "Cohen", "Lopez",
+        "Walker", "Schmidt", "Andersen", "Ivanova", "Moreau", "Yilmaz", "Fischer"};
+    private static final String[] STREETS = {"Main Street", "Oak Avenue", "Elm Road", "Harbour Lane", "Station Road",
+        "Park Place", "Mill Street", "Church Lane", "High Street", "Victoria Road", "Cedar Court", "Lake View"};
+    private static final String[] CITIES = {"New York", "Boston", "Austin", "Seattle", "Denver", "Chicago", "Portland",
+        "Atlanta", "Phoenix", "Miami", "Dallas", "Detroit", "Houston", "Oakland", "Tampa", "Omaha"};
+
+    private static final Map<String, SearchCase> SEARCHES = Map.of(
+        "name-common", new SearchCase("smith", SearchField.NAME, "name"),
+        "name-rare", new SearchCase("kowalski 4242", SearchField.NAME, "name"),
+        "address", new SearchCase("harbour lane, seattle", SearchField.ADDRESS, "address"),
+        "address-no-match", new SearchCase("sunset boulevard", SearchField.ADDRESS, "address"));
+
+    @Param({"name-common", "name-rare", "address", "address-no-match"})
+    private String search;
+
+    private Connection connection;
+    private PreparedStatement likeQuery;
+    private SubmissionSearchIndex index;
+    private SearchCase searchCase;
+
+    @Setup
+    public void setUp() throws SQLException {
+        searchCase = SEARCHES.get(search);
+        // Without OPTIMIZE_REUSE_RESULTS=0, H2 answers a repeated query from the previous result
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;OPTIMIZE_REUSE_RESULTS=0", "sa", "");
+        index = new SubmissionSearchIndex();
+        load();
+        likeQuery = connection.prepareStatement("SELECT id FROM form_submissions WHERE LOWER(" + searchCase.column()
+            + ") LIKE LOWER(CONCAT('%', ?, '%')) ORDER BY id DESC LIMIT " + PAGE_SIZE);
+        likeQuery.setString(1, searchCase.query());
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public SearchResult index() {
+        return index.search(searchCase.query(), Set.of(searchCase.field()), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> like() throws SQLException {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet resultSet = likeQuery.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private void load() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE form_submissions (id BIGINT PRIMARY KEY, name VARCHAR(100), address VARCHAR(500))");
+        }
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO form_submissions (id, name, address) VALUES (?, ?, ?)")) {
+            List<FormSubmissionEntity> chunk = new ArrayList<>();
+            for (long id = 1; id <= ROWS; id++) {
+                FormSubmissionEntity submission = new FormSubmissionEntity();
+                submission.setId(id);
+                submission.setName(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES) + " " + id);
+                submission.setAddress((1 + random.nextInt(999)) + " " + pick(random, STREETS) + ", " + pick(random, CITIES));
+                insert.setLong(1, id);
+                insert.setString(2, submission.getName());
+                insert.setString(3, submission.getAddress());
+                insert.addBatch();
+                chunk.add(submission);
+                if (chunk.size() == 10_000) {
+                    insert.executeBatch();
+                    index.indexAll(chunk);
+                    chunk.clear();
+                }
+            }
+            insert.executeBatch();
+            index.indexAll(chunk);
+        }
+        connection.commit();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private record SearchCase(String query, SearchField field, String column) {
+    }
+}
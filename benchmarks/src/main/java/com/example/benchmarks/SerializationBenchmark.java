@@ -0,0 +1,55 @@
+package com.example.benchmarks;
+
+import com.example.dto.FormSubmissionResponseDto;
+import com.example.mapper.FormSubmissionMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a single submission and of a default-size page, as written by the controller
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // Configured as Spring Boot configures the application's ObjectMapper (java.time module, ISO dates)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private FormSubmissionResponseDto submission;
+    private Page<FormSubmissionResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        FormSubmissionMapper mapper = new FormSubmissionMapper();
+        submission = mapper.toResponseDto(Fixtures.entity(1));
+        List<FormSubmissionResponseDto> content = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            content.add(mapper.toResponseDto(Fixtures.entity(id)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1_000);
+    }
+
+    @Benchmark
+    public byte[] submission() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(submission);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.benchmarks;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.service.SubmissionRowLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Google Sheets row building (SubmissionRowLayout.toRow), done for every row the outbox and the syncs write
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SheetRowBenchmark {
+
+    private FormSubmissionEntity entity;
+
+    @Setup
+    public void setUp() {
+        entity = Fixtures.entity(1);
+    }
+
+    @Benchmark
+    public List<String> toRow() {
+        return SubmissionRowLayout.toRow(entity);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.benchmarks;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.service.GoogleSheetsService;
+import com.example.service.sheets.SheetRowIndex;
+import com.example.service.sheets.SheetSink;
+import com.example.service.sheets.SheetsRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GoogleSheetsService.writeBatchSubmissionsToSheet of 1000 submissions at different google.sheets.batch-size
+ * values: row building, rate limiter, metrics and row index per append request. The sink discards the rows,
+ * so the API round trip is not measured; a batch size of 1 is the per-row writing the batched writer replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SheetWriteBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    private GoogleSheetsService googleSheetsService;
+    private List<FormSubmissionEntity> submissions;
+
+    @Setup
+    public void setUp() {
+        // Never waits: only the limiter's bookkeeping is part of the measurement
+        SheetsRateLimiter rateLimiter = new SheetsRateLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        googleSheetsService = new GoogleSheetsService(new DiscardingSheetSink(), rateLimiter,
+            new SheetRowIndex(null, "benchmark", "Sheet1"), new SimpleMeterRegistry());
+        new DirectFieldAccessor(googleSheetsService).setPropertyValue("batchSize", batchSize);
+        submissions = new ArrayList<>(ROWS);
+        for (long id = 1; id <= ROWS; id++) {
+            submissions.add(Fixtures.entity(id));
+        }
+    }
+
+    @Benchmark
+    public GoogleSheetsService writeBatch() {
+        googleSheetsService.writeBatchSubmissionsToSheet(submissions);
+        return googleSheetsService;
+    }
+
+    /**
+     * Counts appended rows so every append lands where the row index expects it
+     */
+    private static final class DiscardingSheetSink implements SheetSink {
+
+        private int rowCount;
+
+        @Override
+        public int appendRows(List<List<String>> rows) {
+            int firstRowIndex = rowCount;
+            rowCount += rows.size();
+            return firstRowIndex;
+        }
+
+        @Override
+        public void updateRows(int firstRowIndex, List<List<String>> rows) {
+        }
+
+        @Override
+        public void updateColumnRanges(int columnIndex, SortedMap<Integer, List<String>> valuesByFirstRowIndex) {
+        }
+
+        @Override
+        public List<String> readRowKeys() {
+            return List.of();
+        }
+
+        @Override
+        public int rowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void clearRows() {
+            rowCount = 0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.benchmarks;
+
+import com.example.FormSubmissionApplication;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * POST /api/v1/form-submissions through the servlet filters, controller and service, against the embedded
+ * H2 database. MockMvc runs the request on the benchmark thread, so nothing of an HTTP client is measured;
+ * background work such as the Sheets outbox dispatcher is included in the allocation, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmitRequestBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        // Arguments rather than default properties, which application.yml would override
+        context = new SpringApplicationBuilder(FormSubmissionApplication.class)
+            .run(
+                "--server.port=0",
+                "--google.sheets.sink=memory",
+                // Every request comes from the same address
+                "--form-submissions.rate-limit.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example=WARN");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+            .addFilters(context.getBeansOfType(Filter.class).values().toArray(Filter[]::new))
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult submit() throws Exception {
+        // Single-threaded state, every submit needs an email that has not been used yet
+        MvcResult result = mockMvc.perform(post("/api/v1/form-submissions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Benchmark User\",\"email\":\"submit" + sequence++ + "@example.com\","
+                    + "\"address\":\"221B Baker Street, London NW1 6XE\",\"phoneNumber\":\"+44 20 7946 0958\","
+                    + "\"comments\":\"Please get back to me about the spring opening hours.\"}"))
+            .andReturn();
+        if (result.getResponse().getStatus() != HttpStatus.CREATED.value()) {
+            throw new IllegalStateException("Submit failed with status " + result.getResponse().getStatus()
+                + ": " + result.getResponse().getContentAsString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.benchmarks;
+
+import com.example.dto.FormSubmissionRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of FormSubmissionRequestDto, as done for @Valid bodies and every item of /batch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private FormSubmissionRequestDto valid;
+    private FormSubmissionRequestDto invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = Fixtures.request("user@example.com");
+        invalid = Fixtures.request("not-an-email");
+        invalid.setName("");
+        invalid.setPhoneNumber("+44 20 7946 0958 ext. 1234");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<FormSubmissionRequestDto>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    // Three violations, each with an interpolated message
+    @Benchmark
+    public Set<ConstraintViolation<FormSubmissionRequestDto>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
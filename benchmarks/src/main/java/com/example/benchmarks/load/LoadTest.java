@@ -0,0 +1,326 @@
+package com.example.benchmarks.load;
+
+import com.example.FormSubmissionApplication;
+import com.example.benchmarks.load.Scenario.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load test: requests are sent on a fixed schedule at each target rate, whether or
+ * not earlier requests have completed, so a slow server cannot slow down the arrivals. Latency is
+ * measured from each request's scheduled send time, which corrects for coordinated omission: time a
+ * request spent waiting behind a stalled sender or a full client counts against the server. The
+ * uncorrected latency (from the actual send) is reported next to it.
+ * <p>
+ * Runs against load.url, or against an embedded instance on H2 when load.url is empty. The embedded
+ * instance shares the CPU with the load generator; for numbers that stand for one node, start the
+ * service separately (e.g. with the prod profile on PostgreSQL) and pass its URL.
+ * Writes a JSON report and, when load.compare names an earlier report, prints the change per stage.
+ */
+public final class LoadTest {
+
+    // Latencies are recorded in microseconds, up to a minute, to three significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("load.url", "");
+        int[] rates = Arrays.stream(System.getProperty("load.rates", "50,100,200,400").split(","))
+            .mapToInt(rate -> Integer.parseInt(rate.trim()))
+            .toArray();
+        Duration stageDuration = Duration.ofSeconds(Long.getLong("load.stage-seconds", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 15));
+        String mix = System.getProperty("load.mix", "submit=20,get=30,list=15,search-name=15,text-search=10,stats=10");
+        double sloP99Millis = Double.parseDouble(System.getProperty("load.slo-p99-ms", "250"));
+        int maxInFlight = Integer.getInteger("load.max-in-flight", 2_000);
+        int seedSubmissions = Integer.getInteger("load.seed-submissions", 1_000);
+        long seed = Long.getLong("load.seed", 42);
+        File reportFile = new File(System.getProperty("load.report", "target/load-report.json"));
+        String compare = System.getProperty("load.compare", "");
+
+        ConfigurableApplicationContext embedded = url.isEmpty() ? startEmbedded() : null;
+        try {
+            String target = embedded != null
+                ? "http://localhost:" + embedded.getEnvironment().getRequiredProperty("local.server.port")
+                : url.replaceAll("/+$", "");
+            String baseUrl = target + "/api/v1/form-submissions";
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+            Scenario scenario = Scenario.seed(client, baseUrl, mix, seedSubmissions, seed);
+            if (!warmup.isZero()) {
+                System.out.printf("Warming up at %d req/s for %d s%n", rates[0], warmup.toSeconds());
+                runStage(client, scenario, rates[0], warmup, maxInFlight, sloP99Millis);
+            }
+
+            List<StageReport> stages = new ArrayList<>();
+            for (int rate : rates) {
+                System.out.printf("Running %d req/s for %d s%n", rate, stageDuration.toSeconds());
+                stages.add(runStage(client, scenario, rate, stageDuration, maxInFlight, sloP99Millis));
+            }
+
+            Integer maxRateMeetingSlo = null;
+            for (StageReport stage : stages) {
+                if (!stage.sloMet()) {
+                    break;
+                }
+                maxRateMeetingSlo = stage.targetRate();
+            }
+            LoadReport report = new LoadReport(embedded != null ? "embedded (H2)" : target, mix,
+                stageDuration.toSeconds(), sloP99Millis, maxRateMeetingSlo, stages);
+
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            if (reportFile.getParentFile() != null) {
+                reportFile.getParentFile().mkdirs();
+            }
+            objectMapper.writeValue(reportFile, report);
+            print(report);
+            System.out.printf("Report written to %s%n", reportFile);
+            if (!compare.isEmpty()) {
+                printComparison(objectMapper.readValue(new File(compare), LoadReport.class), report);
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded() {
+        // Arguments rather than default properties, which application.yml would override
+        return new SpringApplicationBuilder(FormSubmissionApplication.class)
+            .run(
+                "--server.port=0",
+                "--google.sheets.sink=memory",
+                "--form-submissions.rate-limit.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example=WARN");
+    }
+
+    private static StageReport runStage(HttpClient client, Scenario scenario, int rate, Duration duration,
+                                        int maxInFlight, double sloP99Millis) throws InterruptedException {
+        Map<Operation, OperationRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new OperationRecorder());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong lastCompletion = new AtomicLong();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = scenario.next();
+            HttpRequest request = scenario.request(operation);
+            OperationRecorder recorder = recorders.get(operation);
+            // Beyond this the client would only queue requests in memory; count them as dropped instead
+            if (inFlight.get() >= maxInFlight) {
+                recorder.dropped.incrementAndGet();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long completed = System.nanoTime();
+                    if (failure != null || response.statusCode() >= 400) {
+                        recorder.errors.incrementAndGet();
+                    } else {
+                        recorder.corrected.recordValue(micros(completed - scheduled));
+                        recorder.uncorrected.recordValue(micros(completed - sent));
+                    }
+                    lastCompletion.accumulateAndGet(completed, Math::max);
+                    inFlight.decrementAndGet();
+                });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long elapsedNanos = Math.max(lastCompletion.get(), start + requests * intervalNanos) - start;
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long errors = 0;
+        long dropped = 0;
+        Map<String, OperationReport> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationRecorder> entry : recorders.entrySet()) {
+            OperationRecorder recorder = entry.getValue();
+            long operationErrors = recorder.errors.get();
+            long operationDropped = recorder.dropped.get();
+            if (recorder.corrected.getTotalCount() + operationErrors + operationDropped == 0) {
+                continue;
+            }
+            total.add(recorder.corrected);
+            errors += operationErrors;
+            dropped += operationDropped;
+            operations.put(entry.getKey().key, OperationReport.of(recorder, operationErrors, operationDropped));
+        }
+
+        double p99Millis = millis(total.getValueAtPercentile(99));
+        return new StageReport(
+            rate,
+            round(total.getTotalCount() / (elapsedNanos / 1_000_000_000.0)),
+            total.getTotalCount(),
+            errors,
+            dropped,
+            millis(total.getValueAtPercentile(50)),
+            p99Millis,
+            millis(total.getValueAtPercentile(99.9)),
+            millis(total.getMaxValue()),
+            errors == 0 && dropped == 0 && total.getTotalCount() > 0 && p99Millis <= sloP99Millis,
+            operations);
+    }
+
+    private static void print(LoadReport report) {
+        System.out.printf("%nLoad test against %s, %d s per stage, SLO p99 <= %.0f ms (latency from scheduled send)%n",
+            report.target(), report.stageSeconds(), report.sloP99Millis());
+        System.out.printf("%-12s %-12s %10s %8s %8s %9s %9s %9s %9s %13s%n",
+            "target/s", "operation", "achieved/s", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "p99 uncorr ms");
+        for (StageReport stage : report.stages()) {
+            System.out.printf("%-12s %-12s %10.1f %8d %8d %9.1f %9.1f %9.1f %9.1f %13s%n",
+                stage.targetRate() + (stage.sloMet() ? "" : " !"), "all", stage.achievedRate(), stage.errors(),
+                stage.dropped(), stage.p50Millis(), stage.p99Millis(), stage.p999Millis(), stage.maxMillis(), "");
+            for (Map.Entry<String, OperationReport> entry : stage.operations().entrySet()) {
+                OperationReport operation = entry.getValue();
+                System.out.printf("%-12s %-12s %10s %8d %8d %9.1f %9.1f %9.1f %9.1f %13.1f%n",
+                    "", entry.getKey(), operation.count(), operation.errors(), operation.dropped(), operation.p50Millis(),
+                    operation.p99Millis(), operation.p999Millis(), operation.maxMillis(), operation.uncorrectedP99Millis());
+            }
+        }
+        System.out.println(report.maxRateMeetingSlo() != null
+            ? "Highest rate meeting the SLO: " + report.maxRateMeetingSlo() + " req/s"
+            : "No stage met the SLO");
+    }
+
+    private static void printComparison(LoadReport previous, LoadReport current) {
+        System.out.printf("%nChange against the previous report (%s)%n", previous.target());
+        System.out.printf("%-10s %-12s %14s %14s %14s%n", "target/s", "operation", "achieved/s", "p99 ms", "p99.9 ms");
+        for (StageReport stage : current.stages()) {
+            StageReport before = previous.stages().stream()
+                .filter(candidate -> candidate.targetRate() == stage.targetRate())
+                .findFirst()
+                .orElse(null);
+            if (before == null) {
+                System.out.printf("%-10d %-12s %14s%n", stage.targetRate(), "all", "new stage");
+                continue;
+            }
+            System.out.printf("%-10d %-12s %14s %14s %14s%n", stage.targetRate(), "all",
+                change(before.achievedRate(), stage.achievedRate()), change(before.p99Millis(), stage.p99Millis()),
+                change(before.p999Millis(), stage.p999Millis()));
+            for (Map.Entry<String, OperationReport> entry : stage.operations().entrySet()) {
+                OperationReport operationBefore = before.operations().get(entry.getKey());
+                if (operationBefore != null) {
+                    System.out.printf("%-10s %-12s %14s %14s %14s%n", "", entry.getKey(), "",
+                        change(operationBefore.p99Millis(), entry.getValue().p99Millis()),
+                        change(operationBefore.p999Millis(), entry.getValue().p999Millis()));
+                }
+            }
+        }
+        System.out.printf("Highest rate meeting the SLO: %s -> %s req/s%n",
+            Objects.toString(previous.maxRateMeetingSlo(), "none"), Objects.toString(current.maxRateMeetingSlo(), "none"));
+    }
+
+    private static String change(double before, double after) {
+        return before > 0 ? String.format("%+.1f%%", (after - before) / before * 100) : "-";
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(1, nanos / 1_000), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static final class OperationRecorder {
+        final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+    }
+
+    record LoadReport(
+        String target,
+        String mix,
+        long stageSeconds,
+        double sloP99Millis,
+        Integer maxRateMeetingSlo,
+        List<StageReport> stages
+    ) {}
+
+    // Latencies in milliseconds, measured from the scheduled send time
+    record StageReport(
+        int targetRate,
+        double achievedRate,
+        long completed,
+        long errors,
+        long dropped,
+        double p50Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis,
+        boolean sloMet,
+        Map<String, OperationReport> operations
+    ) {}
+
+    record OperationReport(
+        long count,
+        long errors,
+        long dropped,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis,
+        double uncorrectedP99Millis
+    ) {
+        static OperationReport of(OperationRecorder recorder, long errors, long dropped) {
+            Histogram corrected = recorder.corrected;
+            return new OperationReport(
+                corrected.getTotalCount(),
+                errors,
+                dropped,
+                millis(corrected.getValueAtPercentile(50)),
+                millis(corrected.getValueAtPercentile(90)),
+                millis(corrected.getValueAtPercentile(99)),
+                millis(corrected.getValueAtPercentile(99.9)),
+                millis(corrected.getMaxValue()),
+                millis(recorder.uncorrected.getValueAtPercentile(99)));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Mixed read/write traffic against /api/v1/form-submissions, with the requests from docs/API_EXAMPLES.md.
+ * Reads target submissions seeded through POST /batch before the run. The operation sequence only
+ * depends on the seed, so two runs with the same settings send the same requests.
+ * Not thread-safe: requests are built by the single scheduling thread.
+ */
+final class Scenario {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    enum Operation {
+        SUBMIT("submit"),
+        GET("get"),
+        LIST("list"),
+        SEARCH_NAME("search-name"),
+        TEXT_SEARCH("text-search"),
+        STATS("stats");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation '" + key + "' in load.mix");
+        }
+    }
+
+    private final String baseUrl;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<Long> seededIds;
+    private final String runId;
+    private final SplittableRandom random;
+    private long submitted;
+
+    private Scenario(String baseUrl, Map<Operation, Integer> mix, List<Long> seededIds, String runId, long seed) {
+        this.baseUrl = baseUrl;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.seededIds = seededIds;
+        this.runId = runId;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Seed the target with submissions for the read operations and build the scenario
+     *
+     * @param mix e.g. "submit=20,get=30,list=15,search-name=15,text-search=10,stats=10"
+     */
+    static Scenario seed(HttpClient client, String baseUrl, String mix, int seedSubmissions, long seed)
+            throws IOException, InterruptedException {
+        // Emails must be new even when the target keeps data between runs
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Long> ids = new ArrayList<>(seedSubmissions);
+        for (int from = 0; from < seedSubmissions; from += 1_000) {
+            StringBuilder body = new StringBuilder();
+            for (int i = from; i < Math.min(from + 1_000, seedSubmissions); i++) {
+                body.append(submissionJson("Load User " + i, "seed-" + runId + "-" + i, i + " Load Street")).append('\n');
+            }
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/batch"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .timeout(Duration.ofMinutes(2))
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : OBJECT_MAPPER.readTree(response.body()).path("results")) {
+                if (result.hasNonNull("id")) {
+                    ids.add(result.get("id").asLong());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No submissions were seeded, read operations need at least one");
+        }
+        return new Scenario(baseUrl, parseMix(mix), ids, runId, seed);
+    }
+
+    Operation next() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case SUBMIT -> HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    submissionJson("Load Writer", "load-" + runId + "-" + submitted++, "1 Load Street")))
+                .build();
+            case GET -> get("/" + seededIds.get(random.nextInt(seededIds.size())));
+            case LIST -> get("?size=20");
+            case SEARCH_NAME -> get("/search/name?name=" + encode("Load User " + random.nextInt(seededIds.size())));
+            case TEXT_SEARCH -> get("/search/text?q=" + encode(random.nextInt(seededIds.size()) + " Load") + "&page=0&size=20");
+            case STATS -> get("/stats");
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in load.mix: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private static String submissionJson(String name, String emailLocalPart, String address) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + emailLocalPart + "@example.com\",\"address\":\"" + address + "\"}";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -1,12 +1,20 @@
 package com.example;
 
+import com.example.service.SubmissionImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FormSubmissionApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(FormSubmissionApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(FormSubmissionApplication.class, args);
+        // A command-line import is finished once the context has started; the scheduler threads would keep the JVM alive
+        if (context.getBeanProvider(SubmissionImportRunner.class).getIfAvailable() != null) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
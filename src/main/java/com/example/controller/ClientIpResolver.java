@@ -0,0 +1,163 @@
+package com.example.controller;
+
+import com.example.service.IpAddresses;
+import com.example.service.IpAddresses.Range;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Client address of a request behind reverse proxies. X-Forwarded-For and X-Real-IP are only believed
+ * when the connection comes from a trusted proxy, and X-Forwarded-For is walked from the right, so the
+ * result is the last address a trusted proxy saw rather than whatever the client put first in the header.
+ * Headers are scanned by index instead of split and IPv4 hops are checked as 32-bit values, so an IPv4
+ * client costs no allocation unless its address has to be cut out of a longer header.
+ * The result is canonical text (dotted quad, RFC 5952 IPv6), or {@link #UNKNOWN} when the peer address
+ * itself is not an IP address (a Unix socket, a misbehaving connector), so it always fits submitted_by_ip.
+ */
+@Component
+public class ClientIpResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+    static final String REAL_IP = "X-Real-IP";
+    static final String UNKNOWN = "unknown";
+
+    private static final int INVALID = -1;
+    private static final int UNTRUSTED = 0;
+    private static final int TRUSTED = 1;
+
+    private final Range[] trustedProxies;
+
+    public ClientIpResolver(@Value("${form-submissions.trusted-proxies:"
+            + "10.0.0.0/8,192.168.0.0/16,172.16.0.0/12,169.254.0.0/16,127.0.0.0/8,100.64.0.0/10,"
+            + "::1/128,fe80::/10,fc00::/7}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+            .filter(proxy -> !proxy.isBlank())
+            .map(Range::parse)
+            .toArray(Range[]::new);
+    }
+
+    public String clientIp(HttpServletRequest request) {
+        return clientIp(request.getRemoteAddr(), request.getHeader(FORWARDED_FOR), request.getHeader(REAL_IP));
+    }
+
+    /**
+     * @param remoteAddr    address of the TCP peer
+     * @param forwardedFor  X-Forwarded-For header, may be null
+     * @param realIp        X-Real-IP header, may be null; used when there is no X-Forwarded-For
+     */
+    public String clientIp(String remoteAddr, String forwardedFor, String realIp) {
+        int remote = remoteAddr != null ? classify(remoteAddr, 0, remoteAddr.length()) : INVALID;
+        if (remote == INVALID) {
+            return UNKNOWN;
+        }
+        if (remote == UNTRUSTED) {
+            return text(remoteAddr, 0, remoteAddr.length());
+        }
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            // Right to left: each hop was added by the proxy to its right, so stop at the first untrusted one
+            long clientBounds = -1;
+            for (int end = forwardedFor.length(); end >= 0; ) {
+                int comma = forwardedFor.lastIndexOf(',', end - 1);
+                long bounds = bounds(forwardedFor, comma + 1, end);
+                int hop = bounds >= 0 ? classify(forwardedFor, from(bounds), to(bounds)) : INVALID;
+                if (hop == INVALID) {
+                    break;
+                }
+                clientBounds = bounds;
+                if (hop == UNTRUSTED) {
+                    break;
+                }
+                end = comma;
+            }
+            return clientBounds >= 0
+                ? text(forwardedFor, from(clientBounds), to(clientBounds))
+                : text(remoteAddr, 0, remoteAddr.length());
+        }
+        if (realIp != null) {
+            long bounds = bounds(realIp, 0, realIp.length());
+            if (bounds >= 0 && classify(realIp, from(bounds), to(bounds)) != INVALID) {
+                return text(realIp, from(bounds), to(bounds));
+            }
+        }
+        return text(remoteAddr, 0, remoteAddr.length());
+    }
+
+    public boolean isTrusted(byte[] address) {
+        for (Range proxy : trustedProxies) {
+            if (proxy.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int classify(String value, int from, int to) {
+        if (indexOf(value, ':', from, to) < 0) {
+            long ipv4 = IpAddresses.parseIpv4(value, from, to);
+            if (ipv4 < 0) {
+                return INVALID;
+            }
+            for (Range proxy : trustedProxies) {
+                if (proxy.contains(ipv4)) {
+                    return TRUSTED;
+                }
+            }
+            return UNTRUSTED;
+        }
+        byte[] address = IpAddresses.parse(value, from, to);
+        return address == null ? INVALID : isTrusted(address) ? TRUSTED : UNTRUSTED;
+    }
+
+    /**
+     * Bounds of the address in value[from, to) without surrounding spaces, a port or IPv6 brackets,
+     * packed as from << 32 | to so nothing is allocated per hop; -1 for an unterminated bracket
+     */
+    private static long bounds(String value, int from, int to) {
+        while (from < to && value.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && value.charAt(to - 1) == ' ') {
+            to--;
+        }
+        if (from < to && value.charAt(from) == '[') {
+            int bracket = indexOf(value, ']', from, to);
+            if (bracket < 0) {
+                return -1;
+            }
+            from++;
+            to = bracket;
+        } else {
+            // A single colon is an IPv4 address with a port; IPv6 has at least two
+            int colon = indexOf(value, ':', from, to);
+            if (colon >= 0 && indexOf(value, ':', colon + 1, to) < 0) {
+                to = colon;
+            }
+        }
+        return (long) from << 32 | to;
+    }
+
+    private static int from(long bounds) {
+        return (int) (bounds >>> 32);
+    }
+
+    private static int to(long bounds) {
+        return (int) bounds;
+    }
+
+    // Canonical text of a valid address in value[from, to)
+    private static String text(String value, int from, int to) {
+        if (indexOf(value, ':', from, to) >= 0) {
+            return IpAddresses.format(IpAddresses.parse(value, from, to));
+        }
+        // Dotted quads are only accepted in canonical form, so the header text can be reused
+        return from == 0 && to == value.length() ? value : value.substring(from, to);
+    }
+
+    private static int indexOf(String value, char c, int from, int to) {
+        int index = value.indexOf(c, from);
+        return index < to ? index : -1;
+    }
+}
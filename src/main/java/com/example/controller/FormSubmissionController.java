@@ -5,50 +5,137 @@ import com.example.entity.FormSubmissionEntity;
 import com.example.entity.FormSubmissionEntity.SubmissionStatus;
 import com.example.mapper.FormSubmissionMapper;
 import com.example.service.FormSubmissionService;
+import com.example.service.FormSubmissionService.BatchItemResult;
+import com.example.service.FormSubmissionService.CursorPage;
+import com.example.service.FormSubmissionService.SubmissionStats;
+import com.example.service.IdempotencyService;
+import com.example.service.IdempotencyService.IdempotencyKeyReusedException;
+import com.example.service.IdempotencyService.StoredResponse;
+import com.example.service.SubmissionExportService;
+import com.example.service.SubmissionExportService.ExportFormat;
+import com.example.service.SubmissionImportService;
+import com.example.service.SubmissionImportService.ImportResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/form-submissions")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*") // Configure as needed for your frontend
+@CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.ETAG, FormSubmissionController.IDEMPOTENT_REPLAYED_HEADER}) // Configure as needed for your frontend
 public class FormSubmissionController {
     
     private final FormSubmissionService formSubmissionService;
+    private final SubmissionExportService submissionExportService;
+    private final SubmissionImportService submissionImportService;
     private final FormSubmissionMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ClientIpResolver clientIpResolver;
+    private final IdempotencyService idempotencyService;
+    
+    @Value("${form-submissions.batch.chunk-size:1000}")
+    private int batchChunkSize;
+    
+    @Value("${form-submissions.streaming.max-json-results:1000}")
+    private int maxJsonResults;
+    
+    private static final String RESULT_TRUNCATED_HEADER = "X-Result-Truncated";
+    
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    // Sort keys for /search, limited to indexed columns
+    private static final Set<String> SEARCH_SORT_PROPERTIES = Set.of("createdAt", "id");
     
     /**
      * Submit a new form
+     * With an Idempotency-Key header, a retry gets the response of the first request with the key
+     * instead of creating the submission again
      */
     @PostMapping
     public ResponseEntity<FormSubmissionResponseDto> submitForm(
             @Valid @RequestBody FormSubmissionRequestDto requestDto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             HttpServletRequest request) {
         
+        if (idempotencyKey == null) {
+            return createSubmission(requestDto, request);
+        }
+        try {
+            IdempotencyService.Result result = idempotencyService.execute(idempotencyKey, requestDto, () -> {
+                ResponseEntity<FormSubmissionResponseDto> response = createSubmission(requestDto, request);
+                return StoredResponse.of(response.getStatusCode().value(), response.getBody());
+            });
+            StoredResponse stored = result.response();
+            if (result.replayed()) {
+                request.setAttribute(RequestLogFilter.DETAIL_ATTRIBUTE, "idempotentReplay=true");
+            }
+            return ResponseEntity.status(stored.status())
+                .header(IDEMPOTENT_REPLAYED_HEADER, Boolean.toString(result.replayed()))
+                .body(stored.body());
+        } catch (IdempotencyKeyReusedException e) {
+            log.warn("Form submission rejected: {}", e.getMessage());
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Form submission failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Form submission rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    private ResponseEntity<FormSubmissionResponseDto> createSubmission(FormSubmissionRequestDto requestDto,
+                                                                       HttpServletRequest request) {
         try {
             // Get client IP address
-            String clientIp = getClientIpAddress(request);
+            String clientIp = clientIpResolver.clientIp(request);
             requestDto.setSubmittedByIp(clientIp);
             
             FormSubmissionEntity entity = mapper.toEntity(requestDto);
             FormSubmissionEntity savedEntity = formSubmissionService.createSubmission(entity);
             FormSubmissionResponseDto responseDto = mapper.toResponseDto(savedEntity);
             
-            log.info("Form submitted successfully with ID: {}", savedEntity.getId());
+            request.setAttribute(RequestLogFilter.DETAIL_ATTRIBUTE, "submissionId=" + savedEntity.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
             
         } catch (IllegalArgumentException e) {
@@ -60,50 +147,217 @@ public class FormSubmissionController {
         }
     }
     
+    /**
+     * Submit many forms at once, as a JSON array or NDJSON (one object per line)
+     * The body is read as a stream and persisted in chunks, each chunk in its own transaction
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchSubmissionResultDto> submitBatch(HttpServletRequest request) {
+        String clientIp = clientIpResolver.clientIp(request);
+        List<BatchItemResultDto> results = new ArrayList<>();
+        List<FormSubmissionEntity> chunk = new ArrayList<>(batchChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+        
+        try (MappingIterator<FormSubmissionRequestDto> items = objectMapper
+                .readerFor(FormSubmissionRequestDto.class)
+                .readValues(request.getInputStream())) {
+            
+            while (items.hasNextValue()) {
+                int index = results.size();
+                FormSubmissionRequestDto requestDto = items.nextValue();
+                String violations = validator.validate(requestDto).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+                if (!violations.isEmpty()) {
+                    results.add(new BatchItemResultDto(index, "REJECTED", null, violations));
+                    continue;
+                }
+                
+                requestDto.setSubmittedByIp(clientIp);
+                chunk.add(mapper.toEntity(requestDto));
+                chunkIndexes.add(index);
+                results.add(null);
+                if (chunk.size() >= batchChunkSize) {
+                    persistBatchChunk(chunk, chunkIndexes, results);
+                }
+            }
+            persistBatchChunk(chunk, chunkIndexes, results);
+            
+        } catch (IOException e) {
+            // Chunks before the malformed item are already committed
+            log.warn("Batch submission failed after {} items: {}", results.size(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Unexpected error during batch submission", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        
+        int created = (int) results.stream().filter(result -> result.getId() != null).count();
+        request.setAttribute(RequestLogFilter.DETAIL_ATTRIBUTE, "received=" + results.size() + " created=" + created);
+        return ResponseEntity.ok(new BatchSubmissionResultDto(results.size(), created, results.size() - created, results));
+    }
+    
+    /**
+     * Import submissions from a CSV body with a header row
+     * Rejected rows are listed in an error report, downloadable from /import/reports/{errorReport}
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResultDto> importSubmissions(HttpServletRequest request) {
+        String clientIp = clientIpResolver.clientIp(request);
+        try {
+            ImportResult result = submissionImportService.importCsv(request.getInputStream(), clientIp);
+            String errorReport = result.errorReport() != null ? result.errorReport().getFileName().toString() : null;
+            
+            return ResponseEntity.ok(new ImportResultDto(result.received(), result.created(), result.rejected(), errorReport));
+            
+        } catch (IllegalArgumentException | IOException e) {
+            // Chunks before the malformed row are already committed
+            log.warn("CSV import failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Unexpected error during CSV import", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Download the error report of a CSV import
+     */
+    @GetMapping("/import/reports/{fileName}")
+    public ResponseEntity<Resource> getImportReport(@PathVariable String fileName) {
+        return submissionImportService.findReport(fileName)
+            .map(path -> ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .<Resource>body(new FileSystemResource(path)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    private void persistBatchChunk(List<FormSubmissionEntity> chunk, List<Integer> chunkIndexes,
+                                   List<BatchItemResultDto> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        List<BatchItemResult> chunkResults = formSubmissionService.createSubmissions(chunk);
+        for (int i = 0; i < chunkResults.size(); i++) {
+            int index = chunkIndexes.get(i);
+            BatchItemResult result = chunkResults.get(i);
+            results.set(index, result.isCreated()
+                ? new BatchItemResultDto(index, "CREATED", result.submission().getId(), null)
+                : new BatchItemResultDto(index, "REJECTED", null, result.error()));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+    
     /**
      * Get submission by ID
+     * Answers 304 Not Modified to If-None-Match with the current ETag, checked without loading the submission
      */
     @GetMapping("/{id}")
-    public ResponseEntity<FormSubmissionResponseDto> getSubmission(@PathVariable Long id) {
+    public ResponseEntity<FormSubmissionResponseDto> getSubmission(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        if (ifNoneMatch != null) {
+            Optional<String> currentETag = formSubmissionService.getSubmissionVersion(id)
+                .map(version -> SubmissionETags.forSubmission(id, version));
+            if (currentETag.isPresent() && SubmissionETags.matches(ifNoneMatch, currentETag.get())) {
+                return notModified(currentETag.get());
+            }
+        }
+        
         return formSubmissionService.getSubmissionById(id)
-            .map(mapper::toResponseDto)
-            .map(ResponseEntity::ok)
+            .map(submission -> ResponseEntity.ok()
+                .eTag(SubmissionETags.forSubmission(submission))
+                .cacheControl(CacheControl.noCache())
+                .body(mapper.toResponseDto(submission)))
             .orElse(ResponseEntity.notFound().build());
     }
     
     /**
-     * Get all submissions with pagination
+     * Get all submissions, newest first, with cursor pagination
+     * Offset pagination (Page response) is still used when a page number or another sort order is requested
+     * Answers 304 Not Modified to If-None-Match while no submission was added, changed or deleted
      */
     @GetMapping
-    public ResponseEntity<Page<FormSubmissionResponseDto>> getAllSubmissions(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<?> getAllSubmissions(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) Integer page,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // Taken before the page is read, so a concurrent change can only make the ETag older than the body
+        String eTag = SubmissionETags.forSubmissions(formSubmissionService.getSubmissionsVersion());
+        if (SubmissionETags.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
         
-        Page<FormSubmissionEntity> submissions = formSubmissionService.getAllSubmissions(pageable);
-        Page<FormSubmissionResponseDto> responseDtos = submissions.map(mapper::toResponseDto);
+        if (page != null || !"createdAt".equals(sortBy) || !"desc".equalsIgnoreCase(sortDirection)) {
+            Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+            Pageable pageable = PageRequest.of(page == null ? 0 : page, size, sort);
+            
+            Page<FormSubmissionEntity> submissions = formSubmissionService.getAllSubmissions(pageable);
+            Page<FormSubmissionResponseDto> responseDtos = submissions.map(mapper::toResponseDto);
+            
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(responseDtos);
+        }
         
-        return ResponseEntity.ok(responseDtos);
+        return getSubmissionsPage(null, cursor, size, includeTotal, eTag);
     }
     
     /**
-     * Get submissions by status
+     * Get submissions by status, newest first, with cursor pagination
+     * Offset pagination (Page response) is still used when a page number is requested
+     * Answers 304 Not Modified to If-None-Match while no submission was added, changed or deleted
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<FormSubmissionResponseDto>> getSubmissionsByStatus(
+    public ResponseEntity<?> getSubmissionsByStatus(
             @PathVariable SubmissionStatus status,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) Integer page,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<FormSubmissionEntity> submissions = formSubmissionService.getSubmissionsByStatus(status, pageable);
-        Page<FormSubmissionResponseDto> responseDtos = submissions.map(mapper::toResponseDto);
+        String eTag = SubmissionETags.forSubmissions(formSubmissionService.getSubmissionsVersion());
+        if (SubmissionETags.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
         
-        return ResponseEntity.ok(responseDtos);
+        if (page != null) {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            Page<FormSubmissionEntity> submissions = formSubmissionService.getSubmissionsByStatus(status, pageable);
+            Page<FormSubmissionResponseDto> responseDtos = submissions.map(mapper::toResponseDto);
+            
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(responseDtos);
+        }
+        
+        return getSubmissionsPage(status, cursor, size, includeTotal, eTag);
+    }
+    
+    private ResponseEntity<SubmissionCursorPageDto> getSubmissionsPage(
+            SubmissionStatus status, String cursor, int size, boolean includeTotal, String eTag) {
+        try {
+            CursorPage page = formSubmissionService.getSubmissionsPage(status, cursor, size, includeTotal);
+            List<FormSubmissionResponseDto> content = page.submissions().stream()
+                .map(mapper::toResponseDto)
+                .toList();
+            
+            return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(new SubmissionCursorPageDto(content, page.hasNext(), page.nextCursor(), page.totalCount()));
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
@@ -169,13 +423,52 @@ public class FormSubmissionController {
     }
     
     /**
-     * Search submissions by name
+     * Search submissions with any combination of filters, e.g.
+     * /search?status=APPROVED&fromDate=2024-01-01T00:00:00&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<FormSubmissionResponseDto>> searchSubmissions(SubmissionSearchDto searchDto) {
+        try {
+            if (!SEARCH_SORT_PROPERTIES.contains(searchDto.getSortBy())) {
+                throw new IllegalArgumentException("Unsupported sortBy: " + searchDto.getSortBy());
+            }
+            Sort.Direction direction = Sort.Direction.fromString(searchDto.getSortDirection());
+            Sort sort = Sort.by(direction, searchDto.getSortBy());
+            if (!"id".equals(searchDto.getSortBy())) {
+                // id breaks ties between equal timestamps so pages do not overlap
+                sort = sort.and(Sort.by(direction, "id"));
+            }
+            Pageable pageable = PageRequest.of(searchDto.getPage(), searchDto.getSize(), sort);
+            
+            Page<FormSubmissionEntity> submissions = formSubmissionService.findSubmissionsWithFilters(
+                searchDto.getName(),
+                searchDto.getEmail(),
+                searchDto.getAddress(),
+                searchDto.getPhoneNumber(),
+                searchDto.getStatus(),
+                searchDto.getFromDate(),
+                searchDto.getToDate(),
+                pageable);
+            
+            return ResponseEntity.ok(submissions.map(mapper::toResponseDto));
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Search request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Search submissions by name, best matches first
      */
     @GetMapping("/search/name")
     public ResponseEntity<List<FormSubmissionResponseDto>> searchSubmissionsByName(
-            @RequestParam String name) {
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         
-        List<FormSubmissionEntity> submissions = formSubmissionService.searchSubmissionsByName(name);
+        List<FormSubmissionEntity> submissions =
+            formSubmissionService.searchSubmissionsByName(name, PageRequest.of(page, size));
         List<FormSubmissionResponseDto> responseDtos = submissions.stream()
             .map(mapper::toResponseDto)
             .toList();
@@ -184,13 +477,33 @@ public class FormSubmissionController {
     }
     
     /**
-     * Search submissions by address
+     * Search submissions by address, best matches first
      */
     @GetMapping("/search/address")
     public ResponseEntity<List<FormSubmissionResponseDto>> searchSubmissionsByAddress(
-            @RequestParam String address) {
+            @RequestParam String address,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        List<FormSubmissionEntity> submissions =
+            formSubmissionService.searchSubmissionsByAddress(address, PageRequest.of(page, size));
+        List<FormSubmissionResponseDto> responseDtos = submissions.stream()
+            .map(mapper::toResponseDto)
+            .toList();
+        
+        return ResponseEntity.ok(responseDtos);
+    }
+    
+    /**
+     * Search submissions by name, address and comments, best matches first
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<List<FormSubmissionResponseDto>> searchSubmissionsByText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         
-        List<FormSubmissionEntity> submissions = formSubmissionService.searchSubmissionsByAddress(address);
+        List<FormSubmissionEntity> submissions = formSubmissionService.searchSubmissions(q, PageRequest.of(page, size));
         List<FormSubmissionResponseDto> responseDtos = submissions.stream()
             .map(mapper::toResponseDto)
             .toList();
@@ -213,24 +526,55 @@ public class FormSubmissionController {
         return ResponseEntity.ok(responseDtos);
     }
     
+    /**
+     * Find submissions from one client address, newest first
+     */
+    @GetMapping("/search/ip")
+    public ResponseEntity<List<FormSubmissionResponseDto>> searchSubmissionsByIp(
+            @RequestParam String ip,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            List<FormSubmissionEntity> submissions = formSubmissionService.findSubmissionsByIp(ip, PageRequest.of(page, size));
+            List<FormSubmissionResponseDto> responseDtos = submissions.stream()
+                .map(mapper::toResponseDto)
+                .toList();
+            
+            return ResponseEntity.ok(responseDtos);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("IP search rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Get submission statistics
+     * Answers 304 Not Modified to If-None-Match while the counts are unchanged
      */
     @GetMapping("/stats")
-    public ResponseEntity<SubmissionStatsDto> getSubmissionStats() {
-        var stats = formSubmissionService.getSubmissionStats();
+    public ResponseEntity<SubmissionStatsDto> getSubmissionStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SubmissionStats stats = formSubmissionService.getSubmissionStats();
+        String eTag = SubmissionETags.forStats(stats);
+        if (SubmissionETags.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        
         SubmissionStatsDto statsDto = mapper.toStatsDto(stats);
-        return ResponseEntity.ok(statsDto);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(statsDto);
     }
     
     /**
      * Bulk update submission status
      */
     @PatchMapping("/bulk-update")
-    public ResponseEntity<Void> bulkUpdateStatus(@Valid @RequestBody BulkUpdateDto bulkUpdateDto) {
+    public ResponseEntity<BulkUpdateResultDto> bulkUpdateStatus(@Valid @RequestBody BulkUpdateDto bulkUpdateDto) {
         try {
-            formSubmissionService.bulkUpdateStatus(bulkUpdateDto.getSubmissionIds(), bulkUpdateDto.getStatus());
-            return ResponseEntity.ok().build();
+            int requested = (int) bulkUpdateDto.getSubmissionIds().stream().distinct().count();
+            int updated = formSubmissionService.bulkUpdateStatus(bulkUpdateDto.getSubmissionIds(), bulkUpdateDto.getStatus());
+            return ResponseEntity.ok(new BulkUpdateResultDto(requested, updated));
             
         } catch (Exception e) {
             log.error("Error during bulk update", e);
@@ -239,31 +583,131 @@ public class FormSubmissionController {
     }
     
     /**
-     * Get recent submissions (last N days)
+     * Get recent submissions (last N days), newest first, at most limit of them
      */
     @GetMapping("/recent")
     public ResponseEntity<List<FormSubmissionResponseDto>> getRecentSubmissions(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) Integer limit) {
+        
+        LocalDateTime now = LocalDateTime.now();
+        return getSubmissionsBetweenDates(now.minusDays(days), now, limit);
+    }
+    
+    /**
+     * Stream all recent submissions (last N days), newest first, as NDJSON
+     */
+    @GetMapping(value = "/recent", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRecentSubmissions(
             @RequestParam(defaultValue = "7") int days) {
         
-        List<FormSubmissionEntity> submissions = formSubmissionService.getRecentSubmissions(days);
+        LocalDateTime now = LocalDateTime.now();
+        return streamSubmissionsBetweenDates(now.minusDays(days), now);
+    }
+    
+    /**
+     * Get submissions created within date range, newest first, at most limit of them
+     */
+    @GetMapping("/date-range")
+    public ResponseEntity<List<FormSubmissionResponseDto>> getSubmissionsBetweenDates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (startDate.isAfter(endDate)) {
+            log.warn("Invalid date range: {} is after {}", startDate, endDate);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        int maxResults = limit == null ? maxJsonResults : limit;
+        if (maxResults < 1 || maxResults > maxJsonResults) {
+            log.warn("Invalid limit {}, must be between 1 and {}", maxResults, maxJsonResults);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // One extra row tells the client whether the array was cut off at the limit
+        List<FormSubmissionEntity> submissions =
+            formSubmissionService.getSubmissionsBetweenDates(startDate, endDate, maxResults + 1);
         List<FormSubmissionResponseDto> responseDtos = submissions.stream()
+            .limit(maxResults)
             .map(mapper::toResponseDto)
             .toList();
         
-        return ResponseEntity.ok(responseDtos);
+        return ResponseEntity.ok()
+            .header(RESULT_TRUNCATED_HEADER, String.valueOf(submissions.size() > maxResults))
+            .body(responseDtos);
+    }
+    
+    /**
+     * Stream all submissions created within date range, newest first, as NDJSON
+     * Rows are serialized as they are read, so memory does not depend on how many match
+     */
+    @GetMapping(value = "/date-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSubmissionsBetweenDates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        if (startDate.isAfter(endDate)) {
+            log.warn("Invalid date range: {} is after {}", startDate, endDate);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = outputStream -> writeSubmissionsAsNdjson(startDate, endDate, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
     
     /**
-     * 手动同步所有数据到 Google Sheets
+     * Export submissions as CSV or NDJSON, in the Google Sheet column layout, optionally gzipped
+     * Streams straight from a database cursor, so any number of rows can be exported
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) SubmissionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid export format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            log.warn("Invalid date range: {} is after {}", startDate, endDate);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String fileName = "submissions." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream ->
+            submissionExportService.export(exportFormat, status, startDate, endDate, gzip, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+    
+    /**
+     * 手动同步数据到 Google Sheets
+     * mode=full 重写全部数据 (默认)，mode=delta 只推送上次同步后变更的数据
      */
     @PostMapping("/sync-to-sheets")
-    public ResponseEntity<Map<String, String>> syncToGoogleSheets() {
+    public ResponseEntity<Map<String, String>> syncToGoogleSheets(
+            @RequestParam(defaultValue = "full") String mode) {
         try {
-            formSubmissionService.syncAllDataToGoogleSheets();
+            boolean delta = "delta".equalsIgnoreCase(mode);
+            long synced = delta
+                ? formSubmissionService.syncChangedDataToGoogleSheets()
+                : formSubmissionService.syncAllDataToGoogleSheets();
             
             Map<String, String> response = new HashMap<>();
             response.put("status", "success");
-            response.put("message", "所有数据已成功同步到 Google Sheets");
+            response.put("message", delta ? "变更数据已成功同步到 Google Sheets" : "所有数据已成功同步到 Google Sheets");
+            response.put("syncedCount", String.valueOf(synced));
             
             return ResponseEntity.ok(response);
             
@@ -278,20 +722,27 @@ public class FormSubmissionController {
         }
     }
     
-    /**
-     * Helper method to get client IP address
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
+    // Browsers and proxies may keep the body but must revalidate it with the ETag before reuse
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+    }
+    
+    // Serializes one submission per line as it is read, so the response is never held in memory
+    private void writeSubmissionsAsNdjson(LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream)
+            throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(FormSubmissionResponseDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            long written = formSubmissionService.forEachSubmissionBetweenDates(startDate, endDate, submission -> {
+                try {
+                    writer.writeValue(generator, mapper.toResponseDto(submission));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.debug("Streamed {} submissions created between {} and {}", written, startDate, endDate);
         }
-        
-        return request.getRemoteAddr();
     }
 }
\ No newline at end of file
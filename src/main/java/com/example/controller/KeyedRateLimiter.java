@@ -0,0 +1,98 @@
+package com.example.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key (client address, email domain) that rejects instead of waiting.
+ * Each bucket is one long, the time at which it would be full again (GCRA), advanced by
+ * compare-and-set, so concurrent requests for a key never take a lock. A bucket that has been
+ * idle for the burst window is full, so expiring it loses nothing; the key map is also bounded
+ * in size, which can only reset the buckets of the least recently seen keys.
+ */
+@Slf4j
+public class KeyedRateLimiter {
+
+    private final String name;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final Cache<String, Bucket> buckets;
+    private final Counter rejected;
+    private final Counter throttledKeys;
+
+    public KeyedRateLimiter(String name, int requestsPerMinute, int burst, long maxKeys, MeterRegistry meterRegistry) {
+        this(name, requestsPerMinute, burst, maxKeys, meterRegistry, Ticker.systemTicker());
+    }
+
+    KeyedRateLimiter(String name, int requestsPerMinute, int burst, long maxKeys, MeterRegistry meterRegistry,
+                     Ticker ticker) {
+        if (requestsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit and burst of " + name + " must be positive");
+        }
+        this.name = name;
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+        this.burstNanos = nanosPerToken * burst;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(Duration.ofNanos(burstNanos))
+            .ticker(ticker)
+            .build();
+        this.rejected = meterRegistry.counter("submissions.rate-limit.rejected", "limit", name);
+        this.throttledKeys = meterRegistry.counter("submissions.rate-limit.throttled-keys", "limit", name);
+        // Expired buckets are removed lazily, so they are cleaned up before being counted
+        Gauge.builder("submissions.rate-limit.keys", buckets, cache -> {
+                cache.cleanUp();
+                return cache.estimatedSize();
+            })
+            .tag("limit", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Take a token for the key
+     *
+     * @return 0 when the request may proceed, otherwise nanoseconds until the key has a token again
+     */
+    public long tryAcquire(String key) {
+        long now = ticker.read();
+        Bucket bucket = buckets.get(key, k -> new Bucket(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long newFullAt = Math.max(fullAt, now) + nanosPerToken;
+            if (newFullAt - now > burstNanos) {
+                if (!bucket.throttled) {
+                    // Once per run of rejections, not per rejected request
+                    bucket.throttled = true;
+                    throttledKeys.increment();
+                    log.warn("Throttling submissions for {} {}", name, key);
+                }
+                rejected.increment();
+                return newFullAt - now - burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                bucket.throttled = false;
+                return 0;
+            }
+        }
+    }
+
+    private static final class Bucket extends AtomicLong {
+
+        volatile boolean throttled;
+
+        Bucket(long fullAt) {
+            super(fullAt);
+        }
+    }
+}
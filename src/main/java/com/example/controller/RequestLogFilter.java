@@ -0,0 +1,106 @@
+package com.example.controller;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One summary line per request (method, path, status, duration and an optional detail set by the
+ * handler) in place of INFO lines for each step. Successful requests can be sampled; client and
+ * server errors and slow requests are always logged. Streamed responses are logged when they complete.
+ */
+@Slf4j
+@Component
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute a handler can set to add key=value details to the summary line, e.g. the id it created
+     */
+    public static final String DETAIL_ATTRIBUTE = RequestLogFilter.class.getName() + ".detail";
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLogFilter(@Value("${form-submissions.request-log.enabled:true}") boolean enabled,
+                            @Value("${form-submissions.request-log.sample-rate:1.0}") double sampleRate,
+                            @Value("${form-submissions.request-log.slow-threshold:1s}") Duration slowThreshold) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("form-submissions.request-log.sample-rate must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !log.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logRequest(request, response.getStatus(), start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                // An exception escaping the chain becomes a 500 after this filter returns
+                logRequest(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start);
+            }
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, int status, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        if (status < 400 && !slow && sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        Object detail = request.getAttribute(DETAIL_ATTRIBUTE);
+        long durationMs = elapsedNanos / 1_000_000;
+        if (slow) {
+            log.warn("method={} uri={} status={} durationMs={} slow=true{}",
+                request.getMethod(), request.getRequestURI(), status, durationMs, detail != null ? " " + detail : "");
+        } else if (detail != null) {
+            log.info("method={} uri={} status={} durationMs={} {}",
+                request.getMethod(), request.getRequestURI(), status, durationMs, detail);
+        } else {
+            log.info("method={} uri={} status={} durationMs={}",
+                request.getMethod(), request.getRequestURI(), status, durationMs);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.controller;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.service.FormSubmissionService.SubmissionStats;
+import com.example.service.FormSubmissionService.SubmissionsVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Weak ETags for submission reads, so polling clients get 304 Not Modified while nothing changed.
+ * A submission is versioned by its id and last change; list pages by the change counter of the table,
+ * which every insert, update and delete increments.
+ */
+final class SubmissionETags {
+
+    private SubmissionETags() {
+    }
+
+    static String forSubmission(Long id, LocalDateTime version) {
+        return "W/\"" + id + "-" + micros(version) + "\"";
+    }
+
+    static String forSubmission(FormSubmissionEntity submission) {
+        LocalDateTime version = submission.getUpdatedAt() != null ? submission.getUpdatedAt() : submission.getCreatedAt();
+        return forSubmission(submission.getId(), version);
+    }
+
+    static String forSubmissions(SubmissionsVersion version) {
+        return "W/\"list-" + Long.toHexString(version.version()) + "\"";
+    }
+
+    static String forStats(SubmissionStats stats) {
+        return "W/\"stats-" + stats.totalSubmissions() + "-" + stats.pendingSubmissions() + "-"
+            + stats.approvedSubmissions() + "-" + stats.rejectedSubmissions() + "-" + stats.processingSubmissions() + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current ETag, using weak comparison
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String micros(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        return Long.toHexString(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000);
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.controller;
+
+import com.example.service.IpAddresses;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit of POST /api/v1/form-submissions by client address and by email domain, answered
+ * with 429 and Retry-After before the body is deserialized, validated or checked against the database.
+ * The address is limited first, so a flood from one client is rejected without reading its body;
+ * the email is then picked out of the start of the body with a streaming parser.
+ * Batch and CSV import requests take one token from the same per-address bucket; their bodies
+ * carry many emails, so they are not limited by domain.
+ * Runs ahead of RequestLogFilter: rejections are counted in metrics and logged once per throttled key
+ * instead of once per request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SubmissionRateLimitFilter extends OncePerRequestFilter {
+
+    static final String SUBMIT_PATH = "/api/v1/form-submissions";
+
+    static final Set<String> BULK_PATHS = Set.of(SUBMIT_PATH + "/batch", SUBMIT_PATH + "/import");
+
+    // Far above the largest valid submission, whose fields are limited to a few KB
+    static final int MAX_SCANNED_BODY_BYTES = 16 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final boolean enabled;
+    private final ClientIpResolver clientIpResolver;
+    private final KeyedRateLimiter perIp;
+    private final KeyedRateLimiter perEmailDomain;
+
+    @Autowired
+    public SubmissionRateLimitFilter(@Value("${form-submissions.rate-limit.enabled:true}") boolean enabled,
+                                     @Value("${form-submissions.rate-limit.per-ip.requests-per-minute:60}") int ipRequestsPerMinute,
+                                     @Value("${form-submissions.rate-limit.per-ip.burst:20}") int ipBurst,
+                                     @Value("${form-submissions.rate-limit.per-email-domain.requests-per-minute:600}") int domainRequestsPerMinute,
+                                     @Value("${form-submissions.rate-limit.per-email-domain.burst:100}") int domainBurst,
+                                     @Value("${form-submissions.rate-limit.max-keys:100000}") long maxKeys,
+                                     ClientIpResolver clientIpResolver,
+                                     MeterRegistry meterRegistry) {
+        this(enabled, clientIpResolver,
+            new KeyedRateLimiter("ip", ipRequestsPerMinute, ipBurst, maxKeys, meterRegistry),
+            new KeyedRateLimiter("email-domain", domainRequestsPerMinute, domainBurst, maxKeys, meterRegistry));
+    }
+
+    SubmissionRateLimitFilter(boolean enabled, ClientIpResolver clientIpResolver,
+                              KeyedRateLimiter perIp, KeyedRateLimiter perEmailDomain) {
+        this.enabled = enabled;
+        this.clientIpResolver = clientIpResolver;
+        this.perIp = perIp;
+        this.perEmailDomain = perEmailDomain;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !SUBMIT_PATH.equals(path) && !BULK_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rejected(perIp, ipKey(clientIpResolver.clientIp(request)), response)) {
+            return;
+        }
+        if (!SUBMIT_PATH.equals(path(request))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request);
+        String emailDomain = emailDomain(bufferedRequest.head);
+        if (emailDomain != null && rejected(perEmailDomain, emailDomain, response)) {
+            return;
+        }
+        filterChain.doFilter(bufferedRequest, response);
+    }
+
+    // Decoded, without ;parameters and duplicate slashes, so every spelling the handler mapping accepts is limited
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    private static boolean rejected(KeyedRateLimiter limiter, String key, HttpServletResponse response) {
+        if (key == null) {
+            return false;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos == 0) {
+            return false;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        return true;
+    }
+
+    // An IPv6 client usually controls a whole /64, so its addresses share one bucket
+    static String ipKey(String clientIp) {
+        if (clientIp == null || clientIp.indexOf(':') < 0) {
+            return clientIp;
+        }
+        byte[] address = IpAddresses.parse(clientIp);
+        if (address == null || address.length == 4) {
+            return clientIp;
+        }
+        Arrays.fill(address, 8, 16, (byte) 0);
+        return IpAddresses.format(address) + "/64";
+    }
+
+    /**
+     * Lower-cased domain of the top-level "email" field, or null when the body has none;
+     * the body is left to request validation then
+     */
+    static String emailDomain(byte[] body) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean email = "email".equals(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (email) {
+                    if (value != JsonToken.VALUE_STRING) {
+                        return null;
+                    }
+                    String address = parser.getText();
+                    int at = address.lastIndexOf('@');
+                    return at >= 0 && at < address.length() - 1 ? address.substring(at + 1).toLowerCase(Locale.ROOT) : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Malformed, or cut off at MAX_SCANNED_BODY_BYTES before the email
+        }
+        return null;
+    }
+
+    /**
+     * Request whose first MAX_SCANNED_BODY_BYTES are read ahead and replayed before the rest of the body.
+     * The head is read with a blocking read, so the body can only be read in blocking mode as well;
+     * the submit endpoint is a plain MVC handler that never switches to non-blocking reads.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private final ServletInputStream body;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            ServletInputStream rest = request.getInputStream();
+            this.head = rest.readNBytes(MAX_SCANNED_BODY_BYTES);
+            this.body = new ServletInputStream() {
+                private int position;
+
+                @Override
+                public int read() throws IOException {
+                    return position < head.length ? head[position++] & 0xff : rest.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    if (position < head.length) {
+                        int count = Math.min(length, head.length - position);
+                        System.arraycopy(head, position, buffer, offset, count);
+                        position += count;
+                        return count;
+                    }
+                    return rest.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return position >= head.length && rest.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return position < head.length || rest.isReady();
+                }
+
+                // The container would signal data on the wrapped stream while the head is still unread
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Non-blocking reads are not supported after the rate limit "
+                        + "has read the start of the body");
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(body, charset));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
 
@@ -74,7 +75,9 @@ public class SubmissionSearchDto {
     private String address;
     private String phoneNumber;
     private SubmissionStatus status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime fromDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime toDate;
     
     // Pagination parameters
@@ -91,12 +94,71 @@ public class SubmissionSearchDto {
 public class BulkUpdateDto {
     
     @NotEmpty(message = "Submission IDs are required")
+    @Size(max = 100000, message = "At most 100000 submission IDs per request")
     private java.util.List<Long> submissionIds;
     
     @NotNull(message = "Status is required")
     private SubmissionStatus status;
 }
 
+// DTO for bulk operation results
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResultDto {
+    
+    private int requestedCount;
+    private int updatedCount;
+}
+
+// DTO for the result of one item in a batch submission
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDto {
+    
+    private int index;
+    private String status; // CREATED or REJECTED
+    private Long id;
+    private String error;
+}
+
+// DTO for batch submission response
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSubmissionResultDto {
+    
+    private int receivedCount;
+    private int createdCount;
+    private int rejectedCount;
+    private java.util.List<BatchItemResultDto> results;
+}
+
+// DTO for CSV import response
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDto {
+    
+    private long received;
+    private long created;
+    private long rejected;
+    private String errorReport;
+}
+
+// DTO for a cursor-paginated list of submissions
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionCursorPageDto {
+    
+    private java.util.List<FormSubmissionResponseDto> content;
+    private boolean hasNext;
+    private String nextCursor;  // Pass as ?cursor= to get the next page; null on the last page
+    private Long totalElements;  // Only when requested with includeTotal=true
+}
+
 // DTO for statistics response
 @Data
 @NoArgsConstructor
@@ -11,14 +11,28 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "form_submissions")
+@Table(name = "form_submissions",
+       uniqueConstraints = @UniqueConstraint(name = "uk_form_submissions_email", columnNames = "email"),
+       indexes = {
+           // Newest-first (created_at, id) cursor pages, optionally by status, and date range filters;
+           // declared descending so the rows come out in page order without a sort
+           @Index(name = "idx_form_submissions_status_created_at", columnList = "status, created_at DESC, id DESC"),
+           @Index(name = "idx_form_submissions_created_at", columnList = "created_at DESC, id DESC"),
+           // Delta sync reads rows changed after a watermark
+           @Index(name = "idx_form_submissions_updated_at", columnList = "updated_at, id"),
+           @Index(name = "idx_form_submissions_phone_number", columnList = "phone_number"),
+           // Newest-first submissions of one client address
+           @Index(name = "idx_form_submissions_ip", columnList = "submitted_by_ip_bytes, created_at DESC, id DESC")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class FormSubmissionEntity {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts (one sequence call per 50 rows)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "form_submissions_seq")
+    @SequenceGenerator(name = "form_submissions_seq", sequenceName = "form_submissions_id_seq", allocationSize = 50)
     private Long id;
     
     // Form fields based on Google Form
@@ -54,9 +68,13 @@ public class FormSubmissionEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @Column(name = "submitted_by_ip")
+    @Column(name = "submitted_by_ip", length = 45)
     private String submittedByIp;
     
+    // submittedByIp as 4 (IPv4) or 16 (IPv6) bytes, so every spelling of an address matches one compact key
+    @Column(name = "submitted_by_ip_bytes", length = 16)
+    private byte[] submittedByIpBytes;
+    
     // Enum example for dropdown/choice fields
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
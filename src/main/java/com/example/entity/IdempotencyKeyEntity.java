@@ -0,0 +1,41 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * First response to a request carrying an Idempotency-Key, replayed to retries of that request
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyEntity {
+    
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+    
+    // Hash of the request body, so a key reused for a different request is refused instead of replayed
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    
+    @Column(name = "response_status", nullable = false)
+    private int responseStatus;
+    
+    // FormSubmissionResponseDto as JSON, null for responses without a body
+    @Column(name = "response_body", length = 8000)
+    private String responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,91 @@
+package com.example.entity;
+
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Google Sheets 待写入事件 (transactional outbox)
+ * 与提交数据在同一事务中写入，由 SheetsOutboxDispatcher 异步投递
+ */
+@Entity
+@Table(name = "sheets_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SheetsOutboxEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 20)
+    private OutboxOperation operation;
+    
+    // Not set for *_BULK operations
+    @Column(name = "submission_id")
+    private Long submissionId;
+    
+    // Comma-separated submission ids, only set for *_BULK operations
+    @Column(name = "submission_ids", length = 20000)
+    private String submissionIds;
+    
+    // Only set for UPDATE_STATUS operations
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_status", length = 20)
+    private SubmissionStatus targetStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 20)
+    private OutboxState state = OutboxState.PENDING;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public List<Long> getSubmissionIdList() {
+        if (submissionIds == null || submissionIds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(submissionIds.split(",")).map(Long::valueOf).toList();
+    }
+    
+    public void setSubmissionIdList(Collection<Long> ids) {
+        this.submissionIds = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+    
+    public enum OutboxOperation {
+        APPEND, APPEND_BULK, UPDATE_STATUS, UPDATE_STATUS_BULK;
+        
+        public boolean isBulk() {
+            return this == APPEND_BULK || this == UPDATE_STATUS_BULK;
+        }
+        
+        public boolean isAppend() {
+            return this == APPEND || this == APPEND_BULK;
+        }
+    }
+    
+    public enum OutboxState {
+        PENDING, FAILED
+    }
+}
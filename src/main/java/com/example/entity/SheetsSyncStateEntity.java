@@ -0,0 +1,53 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Google Sheets 同步进度检查点，用于中断后从上次位置继续
+ */
+@Entity
+@Table(name = "sheets_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SheetsSyncStateEntity {
+    
+    public static final String FULL_SYNC = "FULL";
+    public static final String DELTA_SYNC = "DELTA";
+    
+    @Id
+    @Column(name = "sync_name", length = 50)
+    private String syncName;
+    
+    // Full sync: highest submission id already written by the current run
+    // Delta sync: id tie-breaker for rows whose updated_at equals the watermark
+    @Column(name = "last_synced_id", nullable = false)
+    private long lastSyncedId;
+    
+    // Delta sync only: updated_at of the last row pushed to the sheet
+    @Column(name = "watermark")
+    private LocalDateTime watermark;
+    
+    @Column(name = "running", nullable = false)
+    private boolean running;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public SheetsSyncStateEntity(String syncName) {
+        this.syncName = syncName;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.mapper;
 import com.example.dto.*;
 import com.example.entity.FormSubmissionEntity;
 import com.example.service.FormSubmissionService.SubmissionStats;
+import com.example.service.IpAddresses;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -45,6 +46,7 @@ public class FormSubmissionMapper {
         entity.setPhoneNumber(dto.getPhoneNumber());
         entity.setComments(dto.getComments());
         entity.setSubmittedByIp(dto.getSubmittedByIp());
+        entity.setSubmittedByIpBytes(IpAddresses.parse(dto.getSubmittedByIp()));
         
         return entity;
     }
@@ -84,7 +86,7 @@ public class FormSubmissionMapper {
             stats.pendingSubmissions(),
             stats.approvedSubmissions(),
             stats.rejectedSubmissions(),
-            0L, // processing submissions - add to service if needed
+            stats.processingSubmissions(),
             Math.round(approvalRate * 100.0) / 100.0,
             Math.round(rejectionRate * 100.0) / 100.0
         );
@@ -2,19 +2,27 @@ package com.example.repository;
 
 import com.example.entity.FormSubmissionEntity;
 import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FormSubmissionRepository extends JpaRepository<FormSubmissionEntity, Long> {
+public interface FormSubmissionRepository extends JpaRepository<FormSubmissionEntity, Long>,
+        JpaSpecificationExecutor<FormSubmissionEntity> {
     
     // Find by email
     Optional<FormSubmissionEntity> findByEmail(String email);
@@ -22,16 +30,44 @@ public interface FormSubmissionRepository extends JpaRepository<FormSubmissionEn
     // Check if email exists
     boolean existsByEmail(String email);
     
+    // Which of the given emails already exist, in one query
+    @Query("SELECT f.email FROM FormSubmissionEntity f WHERE f.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Last change of one submission, for its ETag, without loading the entity
+    @Query("SELECT COALESCE(f.updatedAt, f.createdAt) FROM FormSubmissionEntity f WHERE f.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+    
     // Find by status
     List<FormSubmissionEntity> findByStatus(SubmissionStatus status);
     
     // Find by status with pagination
     Page<FormSubmissionEntity> findByStatus(SubmissionStatus status, Pageable pageable);
     
-    // Find submissions within date range
-    @Query("SELECT f FROM FormSubmissionEntity f WHERE f.createdAt BETWEEN :startDate AND :endDate")
+    // Find submissions within date range, newest first, up to the page size
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE f.createdAt BETWEEN :startDate AND :endDate " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
     List<FormSubmissionEntity> findSubmissionsBetweenDates(
         @Param("startDate") LocalDateTime startDate, 
+        @Param("endDate") LocalDateTime endDate,
+        Pageable pageable
+    );
+    
+    // Submissions from one client address (IpAddresses.parse form), newest first, up to the page size;
+    // ordered by the constant address too so the index is read in page order, as in findNewestByStatus
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE f.submittedByIpBytes = :ip " +
+           "ORDER BY f.submittedByIpBytes, f.createdAt DESC, f.id DESC")
+    List<FormSubmissionEntity> findBySubmittedByIp(@Param("ip") byte[] ip, Pageable pageable);
+    
+    // Stream submissions within date range, newest first; must be consumed and closed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE f.createdAt BETWEEN :startDate AND :endDate " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    Stream<FormSubmissionEntity> streamSubmissionsBetweenDates(
+        @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate
     );
     
@@ -43,6 +79,21 @@ public interface FormSubmissionRepository extends JpaRepository<FormSubmissionEn
     @Query("SELECT f FROM FormSubmissionEntity f WHERE LOWER(f.address) LIKE LOWER(CONCAT('%', :address, '%'))")
     List<FormSubmissionEntity> findByAddressContainingIgnoreCase(@Param("address") String address);
     
+    // Paged variants of the name/address searches, used until the search index is loaded
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE LOWER(f.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY f.id DESC")
+    List<FormSubmissionEntity> findByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+    
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE LOWER(f.address) LIKE LOWER(CONCAT('%', :address, '%')) ORDER BY f.id DESC")
+    List<FormSubmissionEntity> findByAddressContainingIgnoreCase(@Param("address") String address, Pageable pageable);
+    
+    // Find submissions whose name, address or comments contain the text (case insensitive)
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE " +
+           "LOWER(f.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
+           "LOWER(f.address) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
+           "LOWER(f.comments) LIKE LOWER(CONCAT('%', :text, '%')) " +
+           "ORDER BY f.id DESC")
+    List<FormSubmissionEntity> findByTextContainingIgnoreCase(@Param("text") String text, Pageable pageable);
+    
     // Find submissions by phone number
     List<FormSubmissionEntity> findByPhoneNumber(String phoneNumber);
     
@@ -50,31 +101,81 @@ public interface FormSubmissionRepository extends JpaRepository<FormSubmissionEn
     @Query("SELECT COUNT(f) FROM FormSubmissionEntity f WHERE f.status = :status")
     long countByStatus(@Param("status") SubmissionStatus status);
     
-    // Find recent submissions (last N days)
-    @Query("SELECT f FROM FormSubmissionEntity f WHERE f.createdAt >= :sinceDate ORDER BY f.createdAt DESC")
-    List<FormSubmissionEntity> findRecentSubmissions(@Param("sinceDate") LocalDateTime sinceDate);
+    // Count submissions for every status in one query
+    @Query("SELECT f.status AS status, COUNT(f) AS count FROM FormSubmissionEntity f GROUP BY f.status")
+    List<StatusCount> countGroupedByStatus();
+    
+    // Submissions with specific criteria are found with FormSubmissionSpecifications.withFilters
+    
+    // Keyset pagination by (createdAt, id), newest first: first page, and the page after a cursor
+    // "createdAt <= :createdAt" bounds the index range scan; the OR only filters rows sharing the cursor's timestamp
+    @Query("SELECT f FROM FormSubmissionEntity f ORDER BY f.createdAt DESC, f.id DESC")
+    List<FormSubmissionEntity> findNewest(Pageable pageable);
     
-    // Custom query to find submissions with specific criteria
     @Query("SELECT f FROM FormSubmissionEntity f WHERE " +
-           "(:name IS NULL OR LOWER(f.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-           "(:email IS NULL OR f.email = :email) AND " +
-           "(:address IS NULL OR LOWER(f.address) LIKE LOWER(CONCAT('%', :address, '%'))) AND " +
-           "(:phoneNumber IS NULL OR f.phoneNumber = :phoneNumber) AND " +
-           "(:status IS NULL OR f.status = :status) AND " +
-           "(:fromDate IS NULL OR f.createdAt >= :fromDate) AND " +
-           "(:toDate IS NULL OR f.createdAt <= :toDate)")
-    Page<FormSubmissionEntity> findSubmissionsWithFilters(
-        @Param("name") String name,
-        @Param("email") String email,
-        @Param("address") String address,
-        @Param("phoneNumber") String phoneNumber,
+           "f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FormSubmissionEntity> findNewestBefore(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    // Ordering by the constant status too lets databases that only match ORDER BY against the index prefix avoid a sort
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE f.status = :status ORDER BY f.status, f.createdAt DESC, f.id DESC")
+    List<FormSubmissionEntity> findNewestByStatus(@Param("status") SubmissionStatus status, Pageable pageable);
+    
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE f.status = :status AND " +
+           "f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id) " +
+           "ORDER BY f.status, f.createdAt DESC, f.id DESC")
+    List<FormSubmissionEntity> findNewestByStatusBefore(
         @Param("status") SubmissionStatus status,
-        @Param("fromDate") LocalDateTime fromDate,
-        @Param("toDate") LocalDateTime toDate,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    // Keyset pagination by id, used to stream the table in bounded chunks
+    List<FormSubmissionEntity> findByIdGreaterThanOrderByIdAsc(Long lastId, Pageable pageable);
+    
+    // Keyset pagination by (updatedAt, id) for rows changed after a watermark, up to an upper bound
+    @Query("SELECT f FROM FormSubmissionEntity f WHERE " +
+           "(f.updatedAt > :since OR (f.updatedAt = :since AND f.id > :lastId)) AND f.updatedAt <= :until " +
+           "ORDER BY f.updatedAt ASC, f.id ASC")
+    List<FormSubmissionEntity> findUpdatedSince(
+        @Param("since") LocalDateTime since,
+        @Param("lastId") Long lastId,
+        @Param("until") LocalDateTime until,
         Pageable pageable
     );
     
+    // Ids and current status of the given submissions that are not yet in the target status
+    @Query("SELECT f.id AS id, f.status AS status FROM FormSubmissionEntity f WHERE f.id IN :ids AND f.status <> :status")
+    List<IdStatus> findIdStatusesToChange(@Param("ids") Collection<Long> ids, @Param("status") SubmissionStatus status);
+    
+    // Set-based status update, without loading the entities
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FormSubmissionEntity f SET f.status = :status, f.updatedAt = :updatedAt " +
+           "WHERE f.id IN :ids AND f.status <> :status")
+    int updateStatusByIds(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") SubmissionStatus status,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
     // Delete old submissions (for data cleanup)
     @Query("DELETE FROM FormSubmissionEntity f WHERE f.createdAt < :cutoffDate")
     void deleteSubmissionsOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate);
+    
+    // Projection for countGroupedByStatus
+    interface StatusCount {
+        SubmissionStatus getStatus();
+        long getCount();
+    }
+    
+    // Projection for findIdStatusesToChange
+    interface IdStatus {
+        Long getId();
+        SubmissionStatus getStatus();
+    }
 }
\ No newline at end of file
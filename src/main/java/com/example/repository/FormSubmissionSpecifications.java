@@ -0,0 +1,73 @@
+package com.example.repository;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Specifications for the dynamic submission search
+ * Only the supplied filters become predicates, so the WHERE clause has no "(:x IS NULL OR ...)" branches
+ * and the database can pick the index of the filtered columns
+ */
+public final class FormSubmissionSpecifications {
+    
+    private static final char LIKE_ESCAPE = '\\';
+    
+    private FormSubmissionSpecifications() {
+    }
+    
+    public static Specification<FormSubmissionEntity> withFilters(
+            String name,
+            String email,
+            String address,
+            String phoneNumber,
+            SubmissionStatus status,
+            LocalDateTime fromDate,
+            LocalDateTime toDate) {
+        
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            
+            if (StringUtils.hasText(email)) {
+                predicates.add(cb.equal(root.get("email"), email));
+            }
+            if (StringUtils.hasText(phoneNumber)) {
+                predicates.add(cb.equal(root.get("phoneNumber"), phoneNumber));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (fromDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), fromDate));
+            }
+            if (toDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), toDate));
+            }
+            // Substring matches cannot use a B-tree index; they only narrow rows found by the predicates above
+            if (StringUtils.hasText(name)) {
+                predicates.add(cb.like(cb.lower(root.get("name")), containsPattern(name), LIKE_ESCAPE));
+            }
+            if (StringUtils.hasText(address)) {
+                predicates.add(cb.like(cb.lower(root.get("address")), containsPattern(address), LIKE_ESCAPE));
+            }
+            
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+    
+    // %value% with the LIKE wildcards in the value matched literally
+    private static String containsPattern(String value) {
+        String escaped = value.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.repository;
+
+import com.example.entity.SheetsOutboxEntity;
+import com.example.entity.SheetsOutboxEntity.OutboxState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SheetsOutboxRepository extends JpaRepository<SheetsOutboxEntity, Long> {
+    
+    // Claim due entries in insertion order; rows locked by another dispatcher are skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM SheetsOutboxEntity o WHERE o.state = :state AND o.nextAttemptAt <= :now ORDER BY o.id")
+    List<SheetsOutboxEntity> findDueEntries(
+        @Param("state") OutboxState state,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    // Count entries by state
+    long countByState(OutboxState state);
+    
+    // Creation time of the oldest entry in a state, i.e. how far the sheet lags behind
+    @Query("SELECT MIN(o.createdAt) FROM SheetsOutboxEntity o WHERE o.state = :state")
+    Optional<LocalDateTime> findOldestCreatedAt(@Param("state") OutboxState state);
+}
@@ -0,0 +1,9 @@
+package com.example.repository;
+
+import com.example.entity.SheetsSyncStateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SheetsSyncStateRepository extends JpaRepository<SheetsSyncStateEntity, String> {
+}
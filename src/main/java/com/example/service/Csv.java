@@ -0,0 +1,111 @@
+package com.example.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV support for the export and import pipelines
+ */
+final class Csv {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private Csv() {
+    }
+
+    /**
+     * The value as a CSV field, quoted only when it contains a separator, quote or line break.
+     * Values a spreadsheet would evaluate as a formula are prefixed with a single quote so that
+     * user-supplied fields open as text.
+     */
+    static String escape(String value) {
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    /**
+     * Reads one record at a time from a character stream; quoted fields may contain separators,
+     * doubled quotes and line breaks. Lines end with LF or CRLF.
+     */
+    static final class RecordReader {
+
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private int pushedBack = -2;
+
+        RecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return the fields of the next record, or null at the end of the input
+         * @throws IllegalArgumentException if a quoted field is not closed
+         */
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private void unread(int c) {
+            pushedBack = c;
+        }
+    }
+}
@@ -3,16 +3,38 @@ package com.example.service;
 import com.example.entity.FormSubmissionEntity;
 import com.example.entity.FormSubmissionEntity.SubmissionStatus;
 import com.example.repository.FormSubmissionRepository;
+import com.example.repository.FormSubmissionRepository.IdStatus;
+import com.example.repository.FormSubmissionSpecifications;
+import com.example.service.search.SubmissionSearchIndex.SearchField;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,15 +43,35 @@ import java.util.Optional;
 public class FormSubmissionService {
     
     private final FormSubmissionRepository formSubmissionRepository;
-    private final GoogleSheetsService googleSheetsService;
+    private final SheetsOutboxService sheetsOutboxService;
+    private final SheetsSyncService sheetsSyncService;
+    private final SubmissionStatsCounter submissionStatsCounter;
+    private final SubmissionsVersionCounter submissionsVersionCounter;
+    private final KnownEmailCache knownEmailCache;
+    private final SubmissionSearchService submissionSearchService;
+    private final SubmissionCache submissionCache;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "uk_form_submissions_email";
+    
+    // Each retry of a batch follows a conflict with a committed insert, so a few attempts always suffice in practice
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    
+    @Value("${form-submissions.bulk-update.chunk-size:1000}")
+    private int bulkUpdateChunkSize;
+    
+    @Value("${form-submissions.pagination.max-page-size:1000}")
+    private int maxPageSize;
     
     /**
      * Create a new form submission
      */
     public FormSubmissionEntity createSubmission(FormSubmissionEntity submission) {
-        // Check if email already exists
-        if (formSubmissionRepository.existsByEmail(submission.getEmail())) {
-            throw new IllegalArgumentException("Email already exists: " + submission.getEmail());
+        // Repeated submitters are rejected from memory; anything else is left to the unique index
+        if (knownEmailCache.contains(submission.getEmail())) {
+            throw duplicateEmail(submission.getEmail(), "single");
         }
         
         // Set default status if not provided
@@ -37,33 +79,135 @@ public class FormSubmissionService {
             submission.setStatus(SubmissionStatus.PENDING);
         }
         
-        log.info("Creating new form submission for email: {}", submission.getEmail());
-        FormSubmissionEntity savedSubmission = formSubmissionRepository.save(submission);
-        
-        // 异步写入到 Google Sheets
+        log.debug("Creating new form submission for email: {}", submission.getEmail());
+        FormSubmissionEntity savedSubmission;
         try {
-            googleSheetsService.writeSubmissionToSheet(savedSubmission);
-        } catch (Exception e) {
-            log.warn("Failed to write to Google Sheets, but submission was saved to database", e);
+            savedSubmission = formSubmissionRepository.saveAndFlush(submission);
+        } catch (DataIntegrityViolationException e) {
+            if (!isEmailConflict(e)) {
+                throw e;
+            }
+            knownEmailCache.add(List.of(submission.getEmail()));
+            throw duplicateEmail(submission.getEmail(), "single");
         }
+        knownEmailCache.addAfterCommit(List.of(savedSubmission.getEmail()));
+        submissionSearchService.indexAfterCommit(List.of(savedSubmission));
+        
+        // 与提交数据在同一事务中登记，由 SheetsOutboxDispatcher 异步写入 Google Sheets
+        sheetsOutboxService.enqueueAppend(savedSubmission);
+        submissionStatsCounter.recordCreated(savedSubmission.getStatus());
+        submissionsVersionCounter.increment();
         
         return savedSubmission;
     }
     
     /**
-     * Get submission by ID
+     * Create many form submissions in one transaction with batched inserts
+     * Items whose email already exists, in the database or earlier in the batch, are rejected.
+     * An email inserted concurrently after the pre-check fails the flush on the unique index; the
+     * transaction is then rolled back and the batch retried in a new one, where the pre-check sees
+     * the conflicting row and rejects only that item
+     *
+     * @return one result per input item, in input order
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchItemResult> createSubmissions(List<FormSubmissionEntity> submissions) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<BatchItemResult> results = transactionTemplate.execute(status -> insertBatch(submissions));
+                long rejected = results.stream().filter(result -> !result.isCreated()).count();
+                meterRegistry.counter("submissions.rejected", "reason", "duplicate-email", "source", "batch")
+                    .increment(rejected);
+                return results;
+            } catch (DataIntegrityViolationException e) {
+                if (!isEmailConflict(e) || attempt == MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Batch insert hit a concurrently inserted email, retrying (attempt {})", attempt);
+                // The rolled-back inserts took ids from the sequence; the retry draws new ones
+                submissions.forEach(submission -> submission.setId(null));
+            }
+        }
+    }
+    
+    private List<BatchItemResult> insertBatch(List<FormSubmissionEntity> submissions) {
+        List<String> uncachedEmails = submissions.stream()
+            .map(FormSubmissionEntity::getEmail)
+            .filter(email -> !knownEmailCache.contains(email))
+            .distinct()
+            .toList();
+        List<String> existingEmails = uncachedEmails.isEmpty()
+            ? List.of()
+            : formSubmissionRepository.findExistingEmails(uncachedEmails);
+        knownEmailCache.add(existingEmails);
+        
+        Set<String> knownEmails = new HashSet<>(existingEmails);
+        
+        List<BatchItemResult> results = new ArrayList<>(submissions.size());
+        List<FormSubmissionEntity> accepted = new ArrayList<>();
+        for (FormSubmissionEntity submission : submissions) {
+            if (knownEmailCache.contains(submission.getEmail()) || !knownEmails.add(submission.getEmail())) {
+                results.add(BatchItemResult.rejected(duplicateEmailMessage(submission.getEmail())));
+                continue;
+            }
+            if (submission.getStatus() == null) {
+                submission.setStatus(SubmissionStatus.PENDING);
+            }
+            accepted.add(submission);
+            results.add(BatchItemResult.created(submission));
+        }
+        
+        // Ids come from the pooled sequence, so the INSERTs are sent as JDBC batches on flush
+        formSubmissionRepository.saveAll(accepted);
+        formSubmissionRepository.flush();
+        
+        knownEmailCache.addAfterCommit(accepted.stream().map(FormSubmissionEntity::getEmail).toList());
+        submissionSearchService.indexAfterCommit(accepted);
+        sheetsOutboxService.enqueueBulkAppend(accepted.stream().map(FormSubmissionEntity::getId).toList());
+        accepted.forEach(submission -> submissionStatsCounter.recordCreated(submission.getStatus()));
+        if (!accepted.isEmpty()) {
+            submissionsVersionCounter.increment();
+        }
+        
+        log.debug("Batch created {}/{} form submissions", accepted.size(), submissions.size());
+        return results;
+    }
+    
+    /**
+     * Get submission by ID, from the cache when possible
+     * Runs without a transaction of its own so a cache hit does not take a database connection
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<FormSubmissionEntity> getSubmissionById(Long id) {
-        return formSubmissionRepository.findById(id);
+        return submissionCache.getById(id, formSubmissionRepository::findById);
     }
     
     /**
-     * Get submission by email
+     * Get submission by email, from the cache when possible
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<FormSubmissionEntity> getSubmissionByEmail(String email) {
-        return formSubmissionRepository.findByEmail(email);
+        return submissionCache.getByEmail(email, formSubmissionRepository::findByEmail, formSubmissionRepository::findById);
+    }
+    
+    /**
+     * Last change of a submission, for conditional GETs; from the cache when possible,
+     * otherwise a single-column lookup rather than loading the entity
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<LocalDateTime> getSubmissionVersion(Long id) {
+        return submissionCache.getVersion(id, formSubmissionRepository::findVersionById);
+    }
+    
+    /**
+     * Version of the whole submission table, for conditional GETs of list pages
+     * Read from the change counter that every insert, update and delete increments, on any instance,
+     * so no request has to count the table
+     */
+    @Transactional(readOnly = true)
+    public SubmissionsVersion getSubmissionsVersion() {
+        return new SubmissionsVersion(submissionsVersionCounter.current());
     }
     
     /**
@@ -74,6 +218,45 @@ public class FormSubmissionService {
         return formSubmissionRepository.findAll(pageable);
     }
     
+    /**
+     * Get one page of submissions, newest first, continuing after the cursor of the previous page
+     * Each page is an index range read from the cursor position, so its cost does not grow with depth;
+     * rows inserted meanwhile sort before the cursor and never shift or repeat later pages
+     *
+     * @param status only submissions with this status, or all when null
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param includeTotal also count all matching submissions (an extra COUNT query)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage getSubmissionsPage(SubmissionStatus status, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        
+        // One extra row tells whether there is a next page without counting
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<FormSubmissionEntity> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = status == null
+                ? formSubmissionRepository.findNewest(limit)
+                : formSubmissionRepository.findNewestByStatus(status, limit);
+        } else {
+            SubmissionCursor after = SubmissionCursor.decode(cursor);
+            rows = status == null
+                ? formSubmissionRepository.findNewestBefore(after.createdAt(), after.id(), limit)
+                : formSubmissionRepository.findNewestByStatusBefore(status, after.createdAt(), after.id(), limit);
+        }
+        
+        boolean hasNext = rows.size() > size;
+        List<FormSubmissionEntity> submissions = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? SubmissionCursor.of(submissions.get(size - 1)).encode() : null;
+        Long totalCount = null;
+        if (includeTotal) {
+            totalCount = status == null ? formSubmissionRepository.count() : formSubmissionRepository.countByStatus(status);
+        }
+        return new CursorPage(List.copyOf(submissions), nextCursor, totalCount);
+    }
+    
     /**
      * Get submissions by status
      */
@@ -82,6 +265,25 @@ public class FormSubmissionService {
         return formSubmissionRepository.findByStatus(status, pageable);
     }
     
+    /**
+     * Find submissions matching every supplied filter; null or blank filters are ignored
+     */
+    @Transactional(readOnly = true)
+    public Page<FormSubmissionEntity> findSubmissionsWithFilters(
+            String name,
+            String email,
+            String address,
+            String phoneNumber,
+            SubmissionStatus status,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            Pageable pageable) {
+        
+        return formSubmissionRepository.findAll(
+            FormSubmissionSpecifications.withFilters(name, email, address, phoneNumber, status, fromDate, toDate),
+            pageable);
+    }
+    
     /**
      * Update submission status
      */
@@ -89,16 +291,16 @@ public class FormSubmissionService {
         FormSubmissionEntity submission = formSubmissionRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Submission not found with id: " + id));
         
+        SubmissionStatus oldStatus = submission.getStatus();
         submission.setStatus(status);
-        log.info("Updated submission {} status to {}", id, status);
+        log.debug("Updated submission {} status to {}", id, status);
         FormSubmissionEntity updatedSubmission = formSubmissionRepository.save(submission);
+        submissionStatsCounter.recordStatusChanged(oldStatus, status);
+        submissionCache.evictAfterCommit(List.of(id));
+        submissionsVersionCounter.increment();
         
-        // 同步更新 Google Sheets 中的状态
-        try {
-            googleSheetsService.updateSubmissionStatus(id, status.toString());
-        } catch (Exception e) {
-            log.warn("Failed to update status in Google Sheets for submission {}", id, e);
-        }
+        // 异步更新 Google Sheets 中的状态
+        sheetsOutboxService.enqueueStatusUpdate(id, status);
         
         return updatedSubmission;
     }
@@ -116,36 +318,52 @@ public class FormSubmissionService {
         existingSubmission.setPhoneNumber(updatedSubmission.getPhoneNumber());
         existingSubmission.setComments(updatedSubmission.getComments());
         
-        log.info("Updated submission with id: {}", id);
-        return formSubmissionRepository.save(existingSubmission);
+        log.debug("Updated submission with id: {}", id);
+        FormSubmissionEntity savedSubmission = formSubmissionRepository.save(existingSubmission);
+        submissionSearchService.indexAfterCommit(List.of(savedSubmission));
+        submissionCache.evictAfterCommit(List.of(id));
+        submissionsVersionCounter.increment();
+        return savedSubmission;
     }
     
     /**
      * Delete submission
      */
     public void deleteSubmission(Long id) {
-        if (!formSubmissionRepository.existsById(id)) {
-            throw new IllegalArgumentException("Submission not found with id: " + id);
-        }
+        FormSubmissionEntity submission = formSubmissionRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Submission not found with id: " + id));
         
-        formSubmissionRepository.deleteById(id);
-        log.info("Deleted submission with id: {}", id);
+        formSubmissionRepository.delete(submission);
+        submissionStatsCounter.recordDeleted(submission.getStatus());
+        knownEmailCache.removeAfterCommit(submission.getEmail());
+        submissionSearchService.removeAfterCommit(id);
+        submissionCache.evictAfterCommit(id, submission.getEmail());
+        submissionsVersionCounter.increment();
+        log.debug("Deleted submission with id: {}", id);
     }
     
     /**
-     * Search submissions by name
+     * Search submissions by name, best matches first
      */
     @Transactional(readOnly = true)
-    public List<FormSubmissionEntity> searchSubmissionsByName(String name) {
-        return formSubmissionRepository.findByNameContainingIgnoreCase(name);
+    public List<FormSubmissionEntity> searchSubmissionsByName(String name, Pageable pageable) {
+        return submissionSearchService.search(name, Set.of(SearchField.NAME), pageable);
     }
     
     /**
-     * Search submissions by address
+     * Search submissions by address, best matches first
      */
     @Transactional(readOnly = true)
-    public List<FormSubmissionEntity> searchSubmissionsByAddress(String address) {
-        return formSubmissionRepository.findByAddressContainingIgnoreCase(address);
+    public List<FormSubmissionEntity> searchSubmissionsByAddress(String address, Pageable pageable) {
+        return submissionSearchService.search(address, Set.of(SearchField.ADDRESS), pageable);
+    }
+    
+    /**
+     * Search submissions by name, address and comments, best matches first
+     */
+    @Transactional(readOnly = true)
+    public List<FormSubmissionEntity> searchSubmissions(String text, Pageable pageable) {
+        return submissionSearchService.search(text, SearchField.all(), pageable);
     }
     
     /**
@@ -157,70 +375,170 @@ public class FormSubmissionService {
     }
     
     /**
-     * Get submissions within date range
+     * Find submissions from one client address, newest first
+     * Any spelling of the address matches, e.g. ::ffff:192.0.2.1 finds those from 192.0.2.1
      */
     @Transactional(readOnly = true)
-    public List<FormSubmissionEntity> getSubmissionsBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return formSubmissionRepository.findSubmissionsBetweenDates(startDate, endDate);
+    public List<FormSubmissionEntity> findSubmissionsByIp(String ip, Pageable pageable) {
+        byte[] address = IpAddresses.parse(ip);
+        if (address == null) {
+            throw new IllegalArgumentException("Invalid IP address: " + ip);
+        }
+        return formSubmissionRepository.findBySubmittedByIp(address, pageable);
     }
     
     /**
-     * Get recent submissions (last N days)
+     * Get submissions within date range, newest first, at most limit of them
      */
     @Transactional(readOnly = true)
-    public List<FormSubmissionEntity> getRecentSubmissions(int days) {
-        LocalDateTime sinceDate = LocalDateTime.now().minusDays(days);
-        return formSubmissionRepository.findRecentSubmissions(sinceDate);
+    public List<FormSubmissionEntity> getSubmissionsBetweenDates(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        return formSubmissionRepository.findSubmissionsBetweenDates(startDate, endDate, PageRequest.of(0, limit));
     }
     
     /**
-     * Get submission statistics
+     * Pass every submission within date range, newest first, to the consumer one at a time
+     * Rows are read with a bounded fetch size and detached once consumed, so memory does not grow with the number of matches
+     *
+     * @return number of submissions passed to the consumer
      */
     @Transactional(readOnly = true)
+    public long forEachSubmissionBetweenDates(LocalDateTime startDate, LocalDateTime endDate,
+                                              Consumer<FormSubmissionEntity> consumer) {
+        long count = 0;
+        try (Stream<FormSubmissionEntity> submissions =
+                 formSubmissionRepository.streamSubmissionsBetweenDates(startDate, endDate)) {
+            Iterator<FormSubmissionEntity> iterator = submissions.iterator();
+            while (iterator.hasNext()) {
+                FormSubmissionEntity submission = iterator.next();
+                consumer.accept(submission);
+                entityManager.detach(submission);
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Get submission statistics from the in-memory counters
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public SubmissionStats getSubmissionStats() {
-        long totalSubmissions = formSubmissionRepository.count();
-        long pendingSubmissions = formSubmissionRepository.countByStatus(SubmissionStatus.PENDING);
-        long approvedSubmissions = formSubmissionRepository.countByStatus(SubmissionStatus.APPROVED);
-        long rejectedSubmissions = formSubmissionRepository.countByStatus(SubmissionStatus.REJECTED);
-        
-        return new SubmissionStats(totalSubmissions, pendingSubmissions, approvedSubmissions, rejectedSubmissions);
+        return submissionStatsCounter.snapshot();
     }
     
     /**
-     * Bulk update status
+     * Bulk update status with set-based UPDATE statements in bounded chunks
+     * Submissions that do not exist or already have the status are skipped
+     *
+     * @return number of submissions actually updated
      */
-    public void bulkUpdateStatus(List<Long> submissionIds, SubmissionStatus status) {
-        List<FormSubmissionEntity> submissions = formSubmissionRepository.findAllById(submissionIds);
-        submissions.forEach(submission -> submission.setStatus(status));
-        formSubmissionRepository.saveAll(submissions);
-        
-        log.info("Bulk updated {} submissions to status {}", submissions.size(), status);
+    public int bulkUpdateStatus(List<Long> submissionIds, SubmissionStatus status) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(submissionIds));
+        LocalDateTime now = LocalDateTime.now();
+        Map<SubmissionStatus, Long> countsByOldStatus = new EnumMap<>(SubmissionStatus.class);
+        List<Long> updatedIds = new ArrayList<>();
+        int updated = 0;
         
-        // 批量更新 Google Sheets 中的状态
-        try {
-            for (Long id : submissionIds) {
-                googleSheetsService.updateSubmissionStatus(id, status.toString());
+        for (int from = 0; from < distinctIds.size(); from += bulkUpdateChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + bulkUpdateChunkSize, distinctIds.size()));
+            List<IdStatus> toChange = formSubmissionRepository.findIdStatusesToChange(chunk, status);
+            if (toChange.isEmpty()) {
+                continue;
             }
-        } catch (Exception e) {
-            log.warn("Failed to bulk update status in Google Sheets", e);
+            
+            List<Long> changedIds = toChange.stream().map(IdStatus::getId).toList();
+            updated += formSubmissionRepository.updateStatusByIds(changedIds, status, now);
+            toChange.forEach(row -> countsByOldStatus.merge(row.getStatus(), 1L, Long::sum));
+            updatedIds.addAll(changedIds);
+        }
+        
+        submissionStatsCounter.recordStatusChanges(countsByOldStatus, status);
+        submissionCache.evictAfterCommit(updatedIds);
+        if (updated > 0) {
+            submissionsVersionCounter.increment();
         }
+        
+        // 异步批量更新 Google Sheets 中的状态，每批 id 只登记一条 outbox 记录
+        sheetsOutboxService.enqueueBulkStatusUpdate(updatedIds, status);
+        
+        log.debug("Bulk updated {}/{} submissions to status {}", updated, distinctIds.size(), status);
+        return updated;
     }
     
     /**
      * 同步所有数据到 Google Sheets
+     * 分块流式读取，不持有长事务
      */
-    @Transactional(readOnly = true)
-    public void syncAllDataToGoogleSheets() {
-        List<FormSubmissionEntity> allSubmissions = formSubmissionRepository.findAll();
-        googleSheetsService.syncAllDataToSheets(allSubmissions);
-        log.info("Synced {} submissions to Google Sheets", allSubmissions.size());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long syncAllDataToGoogleSheets() {
+        long synced = sheetsSyncService.runFullSync();
+        log.info("Synced {} submissions to Google Sheets", synced);
+        return synced;
     }
     
+    /**
+     * 增量同步自上次水位线以来变更的数据到 Google Sheets
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long syncChangedDataToGoogleSheets() {
+        long synced = sheetsSyncService.runDeltaSync();
+        log.info("Synced {} changed submissions to Google Sheets", synced);
+        return synced;
+    }
+    
+    // Counted per entry point, so repeated submitters show up in submissions.rejected{reason=duplicate-email}
+    private IllegalArgumentException duplicateEmail(String email, String source) {
+        meterRegistry.counter("submissions.rejected", "reason", "duplicate-email", "source", source).increment();
+        return new IllegalArgumentException(duplicateEmailMessage(email));
+    }
+    
+    private static String duplicateEmailMessage(String email) {
+        return "Email already exists: " + email;
+    }
+    
+    // The insert can only conflict on uk_form_submissions_email; anything else is unexpected
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+    
+    // Result of one item in createSubmissions
+    public record BatchItemResult(FormSubmissionEntity submission, String error) {
+        
+        public static BatchItemResult created(FormSubmissionEntity submission) {
+            return new BatchItemResult(submission, null);
+        }
+        
+        public static BatchItemResult rejected(String error) {
+            return new BatchItemResult(null, error);
+        }
+        
+        public boolean isCreated() {
+            return submission != null;
+        }
+    }
+    
+    // One page of getSubmissionsPage; nextCursor is null on the last page, totalCount unless requested
+    public record CursorPage(List<FormSubmissionEntity> submissions, String nextCursor, Long totalCount) {
+        
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
+    }
+    
+    // Value of the submission table's change counter
+    public record SubmissionsVersion(long version) {}
+    
     // Inner class for statistics
     public record SubmissionStats(
         long totalSubmissions,
         long pendingSubmissions,
         long approvedSubmissions,
-        long rejectedSubmissions
+        long rejectedSubmissions,
+        long processingSubmissions
     ) {}
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.example.service;
+
+import com.example.entity.SheetsOutboxEntity.OutboxState;
+import com.example.entity.SheetsSyncStateEntity;
+import com.example.repository.SheetsOutboxRepository;
+import com.example.repository.SheetsSyncStateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Actuator 端点 /actuator/google-sheets
+ * 报告同步延迟 (最早一条未投递 outbox 记录等待的时间)、最近一次成功写入时间、
+ * outbox 积压以及全量/增量同步的检查点
+ */
+@Component
+@Endpoint(id = "google-sheets")
+@RequiredArgsConstructor
+public class GoogleSheetsEndpoint {
+
+    private final SheetsOutboxRepository sheetsOutboxRepository;
+    private final SheetsSyncStateRepository sheetsSyncStateRepository;
+    private final SheetsOutboxDispatcher sheetsOutboxDispatcher;
+
+    @Value("${google.sheets.delta-sync.enabled:false}")
+    private boolean deltaSyncEnabled;
+
+    @ReadOperation
+    public SheetsSyncReport report() {
+        LocalDateTime now = LocalDateTime.now();
+
+        LocalDateTime oldestPendingAt = sheetsOutboxRepository.findOldestCreatedAt(OutboxState.PENDING).orElse(null);
+        OutboxReport outbox = new OutboxReport(
+            sheetsOutboxRepository.countByState(OutboxState.PENDING),
+            sheetsOutboxRepository.countByState(OutboxState.FAILED),
+            oldestPendingAt,
+            sheetsOutboxDispatcher.getLastDeliveryAt(),
+            sheetsOutboxDispatcher.getLastFailureAt(),
+            sheetsOutboxDispatcher.getLastError());
+
+        FullSyncReport fullSync = sheetsSyncStateRepository.findById(SheetsSyncStateEntity.FULL_SYNC)
+            .map(state -> new FullSyncReport(state.isRunning(), state.getStartedAt(), state.getCompletedAt(), state.getLastSyncedId()))
+            .orElse(null);
+
+        SheetsSyncStateEntity deltaState = sheetsSyncStateRepository.findById(SheetsSyncStateEntity.DELTA_SYNC).orElse(null);
+        DeltaSyncReport deltaSync = new DeltaSyncReport(
+            deltaSyncEnabled,
+            deltaState != null ? deltaState.getWatermark() : null,
+            deltaState != null ? deltaState.getCompletedAt() : null,
+            deltaState != null ? secondsBetween(deltaState.getWatermark(), now) : null);
+
+        LocalDateTime lastSuccessAt = Stream.of(outbox.lastDeliveryAt(),
+                fullSync != null ? fullSync.completedAt() : null, deltaSync.completedAt())
+            .filter(Objects::nonNull)
+            .max(LocalDateTime::compareTo)
+            .orElse(null);
+
+        return new SheetsSyncReport(
+            oldestPendingAt != null ? secondsBetween(oldestPendingAt, now) : 0L,
+            lastSuccessAt, outbox, fullSync, deltaSync);
+    }
+
+    private static Long secondsBetween(LocalDateTime from, LocalDateTime to) {
+        return from != null ? Math.max(0, Duration.between(from, to).toSeconds()) : null;
+    }
+
+    // syncLagSeconds: 最早一条未投递的变更已等待的秒数，没有积压时为 0
+    public record SheetsSyncReport(
+        long syncLagSeconds,
+        LocalDateTime lastSuccessAt,
+        OutboxReport outbox,
+        FullSyncReport fullSync,
+        DeltaSyncReport deltaSync
+    ) {}
+
+    // lastDeliveryAt/lastFailureAt 只在本进程内记录，重启后为空
+    public record OutboxReport(
+        long pending,
+        long failed,
+        LocalDateTime oldestPendingAt,
+        LocalDateTime lastDeliveryAt,
+        LocalDateTime lastFailureAt,
+        String lastError
+    ) {}
+
+    public record FullSyncReport(boolean running, LocalDateTime startedAt, LocalDateTime completedAt, long lastSyncedId) {}
+
+    // lagSeconds: 水位线落后当前时间的秒数
+    public record DeltaSyncReport(boolean enabled, LocalDateTime watermark, LocalDateTime completedAt, Long lagSeconds) {}
+}
@@ -1,116 +1,280 @@
 package com.example.service;
 
 import com.example.entity.FormSubmissionEntity;
+import com.example.service.sheets.SheetRowIndex;
+import com.example.service.sheets.SheetSink;
+import com.example.service.sheets.SheetsRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GoogleSheetsService {
     
-    @Value("${google.sheets.spreadsheet-id:18ea2cQeXOt96dGbssCP_ynsTP5AHEmQpFXE48-PtToo}")
-    private String spreadsheetId;
+    static final int STATUS_COLUMN = SubmissionRowLayout.STATUS_COLUMN;
     
-    @Value("${google.sheets.worksheet-name:Sheet1}")
-    private String worksheetName;
+    private final SheetSink sheetSink;
+    private final SheetsRateLimiter rateLimiter;
+    private final SheetRowIndex rowIndex;
+    private final MeterRegistry meterRegistry;
+    
+    // 所有写入 (outbox 投递、全量/增量同步) 串行执行：行索引的查找与追加必须与写入原子地完成，
+    // 否则两个写入方可能重复追加同一提交；使用锁而不是 synchronized，等待限流时不占用虚拟线程的载体线程
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    @Value("${google.sheets.batch-size:100}")
+    private int batchSize;
     
     /**
      * 将表单提交数据写入 Google Sheets
+     * 失败时抛出异常，由调用方 (SheetsOutboxDispatcher) 负责重试
      */
     public void writeSubmissionToSheet(FormSubmissionEntity submission) {
+        writeLock.lock();
         try {
-            log.info("准备写入提交数据到 Google Sheets: ID={}, Name={}, Email={}", 
-                submission.getId(), submission.getName(), submission.getEmail());
+            appendRows(List.of(submission));
             
-            // 这里您需要集成实际的 Google Sheets API 调用
-            // 可以使用您现有的 MCP 工具或 Google Sheets API 库
-            
-            log.info("Successfully wrote submission {} to Google Sheets", submission.getId());
-        } catch (Exception e) {
-            log.error("Failed to write submission {} to Google Sheets", submission.getId(), e);
-            // 不抛异常，避免影响主要业务流程
+            log.debug("Wrote submission {} to Google Sheets", submission.getId());
+        } finally {
+            writeLock.unlock();
         }
     }
     
     /**
      * 批量写入多个提交到 Google Sheets
+     * 按 google.sheets.batch-size 分块，每块一次 append 请求，请求速率由令牌桶控制
+     * 失败时抛出异常，已写入的块不会回滚
      */
     public void writeBatchSubmissionsToSheet(List<FormSubmissionEntity> submissions) {
+        writeLock.lock();
+        try {
+            for (int from = 0; from < submissions.size(); from += batchSize) {
+                appendRows(submissions.subList(from, Math.min(from + batchSize, submissions.size())));
+            }
+            
+            log.debug("Wrote {} submissions to Google Sheets", submissions.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * 按提交 ID 更新工作表中已存在的行，其余追加到末尾
+     * 行号来自 SheetRowIndex，已存在的行按连续区域合并为一次更新请求
+     */
+    public void upsertSubmissionsToSheet(List<FormSubmissionEntity> submissions) {
+        writeLock.lock();
         try {
-            log.info("开始批量写入 {} 条记录到 Google Sheets", submissions.size());
+            ensureRowIndexLoaded();
             
+            TreeMap<Integer, List<String>> updatesByRowIndex = new TreeMap<>();
+            List<FormSubmissionEntity> appends = new ArrayList<>();
             for (FormSubmissionEntity submission : submissions) {
-                writeSubmissionToSheet(submission);
-                // 添加小延迟避免API限流
-                Thread.sleep(100);
+                Integer index = rowIndex.rowIndexOf(submission.getId());
+                if (index != null) {
+                    updatesByRowIndex.put(index, SubmissionRowLayout.toRow(submission));
+                } else {
+                    appends.add(submission);
+                }
             }
             
-            log.info("Successfully wrote {} submissions to Google Sheets", submissions.size());
-        } catch (Exception e) {
-            log.error("Failed to write batch submissions to Google Sheets", e);
+            updateContiguousRows(updatesByRowIndex);
+            if (!appends.isEmpty()) {
+                writeBatchSubmissionsToSheet(appends);
+            }
+            
+            log.debug("Upserted {} submissions to Google Sheets ({} updated, {} appended)",
+                submissions.size(), updatesByRowIndex.size(), appends.size());
+        } finally {
+            writeLock.unlock();
         }
     }
     
     /**
      * 更新 Google Sheets 中的提交状态
+     * 失败或提交尚未写入工作表时抛出异常，由调用方 (SheetsOutboxDispatcher) 负责重试
      */
     public void updateSubmissionStatus(Long submissionId, String newStatus) {
-        try {
-            log.info("更新 Google Sheets 中提交 {} 的状态为: {}", submissionId, newStatus);
-            
-            // 这里需要实现查找对应行并更新状态的逻辑
-            // 可以使用 Google Sheets API 的更新功能
-            
-            log.info("Updated submission {} status to {} in Google Sheets", submissionId, newStatus);
-        } catch (Exception e) {
-            log.error("Failed to update submission {} status in Google Sheets", submissionId, e);
+        if (!updateSubmissionStatuses(Map.of(submissionId, newStatus)).isEmpty()) {
+            throw new IllegalStateException("Submission " + submissionId + " is not in the sheet yet");
         }
+        
+        log.debug("Updated submission {} status to {} in Google Sheets", submissionId, newStatus);
     }
     
     /**
-     * 同步所有数据库数据到 Google Sheets
+     * 批量更新 Google Sheets 中的提交状态
+     * 通过行索引定位，所有连续区域合并为一次请求；失败时抛出异常
+     *
+     * @return 尚未写入工作表、因此未更新的提交 ID
      */
-    public void syncAllDataToSheets(List<FormSubmissionEntity> allSubmissions) {
+    public Set<Long> updateSubmissionStatuses(Map<Long, String> statusBySubmissionId) {
+        writeLock.lock();
         try {
-            log.info("开始全量同步 {} 条记录到 Google Sheets", allSubmissions.size());
-            
-            // 清除现有数据 (保留表头)
-            // clearSheet();
+            ensureRowIndexLoaded();
             
-            // 批量写入所有数据
-            writeBatchSubmissionsToSheet(allSubmissions);
+            TreeMap<Integer, String> statusByRowIndex = new TreeMap<>();
+            Set<Long> missing = new HashSet<>();
+            for (Map.Entry<Long, String> entry : statusBySubmissionId.entrySet()) {
+                Integer index = rowIndex.rowIndexOf(entry.getKey());
+                if (index != null) {
+                    statusByRowIndex.put(index, entry.getValue());
+                } else {
+                    missing.add(entry.getKey());
+                }
+            }
             
-            log.info("Successfully synced {} submissions to Google Sheets", allSubmissions.size());
-        } catch (Exception e) {
-            log.error("Failed to sync all data to Google Sheets", e);
+            if (!statusByRowIndex.isEmpty()) {
+                SortedMap<Integer, List<String>> ranges = new TreeMap<>();
+                int firstRowIndex = -1;
+                List<String> range = null;
+                for (Map.Entry<Integer, String> entry : statusByRowIndex.entrySet()) {
+                    if (range == null || entry.getKey() != firstRowIndex + range.size()) {
+                        firstRowIndex = entry.getKey();
+                        range = new ArrayList<>();
+                        ranges.put(firstRowIndex, range);
+                    }
+                    range.add(entry.getValue());
+                }
+                
+                request("update-status", statusByRowIndex.size(), () -> sheetSink.updateColumnRanges(STATUS_COLUMN, ranges));
+                log.debug("Updated status of {} rows in {} ranges", statusByRowIndex.size(), ranges.size());
+            }
+            return missing;
+        } finally {
+            writeLock.unlock();
         }
     }
     
     /**
-     * 构建行数据
+     * 清除 Google Sheets 中的现有数据 (保留表头)
      */
-    private List<String> buildRowData(FormSubmissionEntity submission) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    public void clearSheet() {
+        writeLock.lock();
+        try {
+            log.info("清除 Google Sheets 中的现有数据");
+            
+            request("clear", 0, sheetSink::clearRows);
+            rowIndex.reset();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    // 索引文件定期写回，崩溃前最后一段时间追加的行可能不在文件中；行数与工作表不一致时从工作表重建
+    private void ensureRowIndexLoaded() {
+        if (rowIndex.isLoaded()) {
+            return;
+        }
+        if (rowIndex.loadFromDisk()) {
+            int sheetRows = requestAndGet("row-count", 0, sheetSink::rowCount);
+            if (sheetRows == rowIndex.rowCount()) {
+                return;
+            }
+            log.warn("Sheet row index covers {} rows but the sheet has {}, rebuilding it from the sheet",
+                rowIndex.rowCount(), sheetRows);
+        }
+        rebuildRowIndex();
+    }
+    
+    private void rebuildRowIndex() {
+        rowIndex.rebuild(requestAndGet("read-keys", 0, sheetSink::readRowKeys));
+    }
+    
+    private void updateContiguousRows(TreeMap<Integer, List<String>> rowsByIndex) {
+        int firstRowIndex = -1;
+        List<List<String>> range = new ArrayList<>();
+        for (Map.Entry<Integer, List<String>> entry : rowsByIndex.entrySet()) {
+            boolean contiguous = firstRowIndex >= 0 && entry.getKey() == firstRowIndex + range.size();
+            if (!contiguous || range.size() == batchSize) {
+                flushRange(firstRowIndex, range);
+                firstRowIndex = entry.getKey();
+                range = new ArrayList<>();
+            }
+            range.add(entry.getValue());
+        }
+        flushRange(firstRowIndex, range);
+    }
+    
+    private void flushRange(int firstRowIndex, List<List<String>> range) {
+        if (!range.isEmpty()) {
+            request("update", range.size(), () -> sheetSink.updateRows(firstRowIndex, range));
+        }
+    }
+    
+    private void appendRows(List<FormSubmissionEntity> submissions) {
+        List<List<String>> rows = new ArrayList<>(submissions.size());
+        List<Long> ids = new ArrayList<>(submissions.size());
+        for (FormSubmissionEntity submission : submissions) {
+            rows.add(SubmissionRowLayout.toRow(submission));
+            ids.add(submission.getId());
+        }
         
-        List<String> rowData = new ArrayList<>();
-        rowData.add(submission.getId() != null ? submission.getId().toString() : "");
-        rowData.add(submission.getName() != null ? submission.getName() : "");
-        rowData.add(submission.getEmail() != null ? submission.getEmail() : "");
-        rowData.add(submission.getAddress() != null ? submission.getAddress() : "");
-        rowData.add(submission.getPhoneNumber() != null ? submission.getPhoneNumber() : "");
-        rowData.add(submission.getComments() != null ? submission.getComments() : "");
-        rowData.add(submission.getStatus() != null ? submission.getStatus().toString() : "PENDING");
-        rowData.add(submission.getCreatedAt() != null ? submission.getCreatedAt().format(formatter) : "");
-        rowData.add(submission.getSubmittedByIp() != null ? submission.getSubmittedByIp() : "");
+        ensureRowIndexLoaded();
+        int expectedRowIndex = rowIndex.rowCount();
+        int firstRowIndex = requestAndGet("append", rows.size(), () -> sheetSink.appendRows(rows));
+        if (firstRowIndex != expectedRowIndex) {
+            // Rows were added to the sheet that the index has not seen (another writer, a lost index file)
+            log.warn("Rows appended at row {} but the row index expected {}, rebuilding it from the sheet",
+                firstRowIndex, expectedRowIndex);
+            rebuildRowIndex();
+        } else {
+            rowIndex.recordAppend(ids, firstRowIndex);
+        }
+        log.debug("Appended {} rows to Google Sheets at row {}", rows.size(), firstRowIndex);
+    }
+    
+    private void request(String operation, int rows, Runnable call) {
+        requestAndGet(operation, rows, () -> {
+            call.run();
+            return null;
+        });
+    }
+    
+    // 每个 API 请求先等待令牌，再按操作记录耗时、结果 (sheets.requests) 和行数 (sheets.request.rows)
+    private <T> T requestAndGet(String operation, int rows, Supplier<T> call) {
+        acquirePermit();
         
-        return rowData;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("sheets.requests", "operation", operation, "outcome", outcome));
+            if (rows > 0) {
+                meterRegistry.summary("sheets.request.rows", "operation", operation).record(rows);
+            }
+        }
+    }
+    
+    private void acquirePermit() {
+        long start = System.nanoTime();
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Google Sheets rate limit", e);
+        } finally {
+            meterRegistry.timer("sheets.rate-limit.wait").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
 
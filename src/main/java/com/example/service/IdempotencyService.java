@@ -0,0 +1,252 @@
+package com.example.service;
+
+import com.example.dto.FormSubmissionRequestDto;
+import com.example.dto.FormSubmissionResponseDto;
+import com.example.entity.IdempotencyKeyEntity;
+import com.example.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for POST /api/v1/form-submissions: the first response to a key is kept
+ * for the TTL and returned to retries without creating the submission again. A request arriving
+ * while the first one with its key is still running waits for that result instead of racing it.
+ * Responses live in a bounded in-memory cache and, when persistence is enabled, in the
+ * idempotency_keys table, so replays survive restarts and reach other instances; waiting for an
+ * in-flight request only works within one instance. Server errors are not kept, so they can be retried.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean persistenceEnabled;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${form-submissions.idempotency.persistence-enabled:false}") boolean persistenceEnabled,
+                              @Value("${form-submissions.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${form-submissions.idempotency.max-size:100000}") long maxSize,
+                              @Value("${form-submissions.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.persistenceEnabled = persistenceEnabled;
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Run the request once per key and return its response, or the response of the first request with the key
+     *
+     * @param request the submission, compared with the first request of the key
+     * @param action  creates the submission; its response is kept unless it is a server error
+     * @throws IllegalArgumentException when the key is invalid or was used for a different request
+     * @throws IllegalStateException    when the first request with the key is still running after the in-flight timeout
+     */
+    public Result execute(String key, FormSubmissionRequestDto request, Supplier<StoredResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = requestHash(request);
+        while (true) {
+            CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = responses.asMap().putIfAbsent(key, pending);
+            if (first == null) {
+                return run(key, requestHash, action, pending);
+            }
+            boolean inFlight = !first.isDone();
+            Optional<StoredResponse> replayed = await(key, first);
+            if (replayed.isPresent()) {
+                return new Result(replay(key, requestHash, replayed.get(), inFlight ? "coalesced" : "replayed"), true);
+            }
+            // The first request failed without a response to keep, so this one takes over
+        }
+    }
+
+    private Result run(String key, String requestHash, Supplier<StoredResponse> action,
+                       CompletableFuture<StoredResponse> pending) {
+        StoredResponse response;
+        try {
+            Optional<StoredResponse> persisted = findPersisted(key);
+            if (persisted.isPresent()) {
+                pending.complete(persisted.get());
+                return new Result(replay(key, requestHash, persisted.get(), "replayed"), true);
+            }
+            response = action.get().withRequestHash(requestHash);
+        } catch (RuntimeException e) {
+            if (!pending.isDone()) {
+                responses.asMap().remove(key, pending);
+                pending.complete(null);
+            }
+            throw e;
+        }
+        if (response.status() >= 500) {
+            responses.asMap().remove(key, pending);
+            pending.complete(null);
+            return new Result(response, false);
+        }
+        persist(key, response);
+        pending.complete(response);
+        count("executed");
+        return new Result(response, false);
+    }
+
+    private StoredResponse replay(String key, String requestHash, StoredResponse response, String outcome) {
+        if (!response.requestHash().equals(requestHash)) {
+            count("mismatch");
+            throw new IdempotencyKeyReusedException(key);
+        }
+        count(outcome);
+        return response;
+    }
+
+    // Empty when the request that owned the key ended without a response to keep
+    private Optional<StoredResponse> await(String key, CompletableFuture<StoredResponse> first) {
+        try {
+            return Optional.ofNullable(first.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the request with Idempotency-Key " + key);
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<StoredResponse> findPersisted(String key) {
+        if (!persistenceEnabled) {
+            return Optional.empty();
+        }
+        return idempotencyKeyRepository.findById(key)
+            .filter(entity -> entity.getExpiresAt().isAfter(LocalDateTime.now()))
+            .map(this::toStoredResponse);
+    }
+
+    private void persist(String key, StoredResponse response) {
+        if (!persistenceEnabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            String body = response.body() != null ? objectMapper.writeValueAsString(response.body()) : null;
+            idempotencyKeyRepository.save(new IdempotencyKeyEntity(key, response.requestHash(), response.status(), body,
+                now, now.plus(ttl)));
+        } catch (JsonProcessingException | DataAccessException e) {
+            // The in-memory copy still serves retries reaching this instance
+            log.warn("Could not persist the response for Idempotency-Key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private StoredResponse toStoredResponse(IdempotencyKeyEntity entity) {
+        try {
+            FormSubmissionResponseDto body = entity.getResponseBody() != null
+                ? objectMapper.readValue(entity.getResponseBody(), FormSubmissionResponseDto.class)
+                : null;
+            return new StoredResponse(entity.getRequestHash(), entity.getResponseStatus(), body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response for Idempotency-Key " + entity.getIdempotencyKey(), e);
+        }
+    }
+
+    /**
+     * Delete persisted responses whose TTL has passed
+     */
+    @Scheduled(fixedDelayString = "${form-submissions.idempotency.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        if (!persistenceEnabled) {
+            return;
+        }
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("submissions.idempotency", "outcome", outcome).increment();
+    }
+
+    // SHA-256 of the submitted fields; the client address is not part of the request
+    static String requestHash(FormSubmissionRequestDto request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[] {request.getName(), request.getEmail(), request.getAddress(),
+                    request.getPhoneNumber(), request.getComments()}) {
+                // A null field and an empty one hash differently
+                digest.update(field == null ? new byte[] {0} : ("\u0001" + field).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0x1f);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Response to a request with an Idempotency-Key; body is null when the response had none
+     */
+    public record StoredResponse(String requestHash, int status, FormSubmissionResponseDto body) {
+
+        public static StoredResponse of(int status, FormSubmissionResponseDto body) {
+            return new StoredResponse(null, status, body);
+        }
+
+        StoredResponse withRequestHash(String requestHash) {
+            return Objects.equals(this.requestHash, requestHash) ? this : new StoredResponse(requestHash, status, body);
+        }
+    }
+
+    /**
+     * @param replayed true when the response was produced by an earlier request with the same key
+     */
+    public record Result(StoredResponse response, boolean replayed) {
+    }
+
+    /**
+     * The key was first used with a different request body
+     */
+    public static class IdempotencyKeyReusedException extends IllegalArgumentException {
+
+        IdempotencyKeyReusedException(String key) {
+            super("Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.service;
+
+import java.util.Arrays;
+
+/**
+ * Parsing and formatting of IPv4/IPv6 literals without DNS lookups (unlike InetAddress.getByName)
+ * and without intermediate strings, so header values can be parsed in place by index.
+ * Addresses are 4 bytes for IPv4 and 16 for IPv6; IPv4-mapped IPv6 addresses (::ffff:a.b.c.d)
+ * are returned as IPv4 so both spellings of the same client compare equal.
+ */
+public final class IpAddresses {
+
+    private IpAddresses() {
+    }
+
+    /**
+     * @return the address, or null when the text is not an IP literal
+     */
+    public static byte[] parse(String text) {
+        return text != null ? parse(text, 0, text.length()) : null;
+    }
+
+    /**
+     * Parse text[from, to) as an IPv4 or IPv6 literal
+     *
+     * @return the address, or null when the range is not an IP literal
+     */
+    public static byte[] parse(CharSequence text, int from, int to) {
+        if (from >= to || to - from > 45) {
+            return null;
+        }
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == ':') {
+                return parseIpv6(text, from, to);
+            }
+        }
+        byte[] address = new byte[4];
+        return parseIpv4(text, from, to, address, 0) ? address : null;
+    }
+
+    /**
+     * Parse text[from, to) as a dotted quad without allocating
+     *
+     * @return the address as an unsigned 32-bit value, or -1 when the range is not an IPv4 literal
+     */
+    public static long parseIpv4(CharSequence text, int from, int to) {
+        // Four decimal octets without leading zeros, which some parsers read as octal
+        long address = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? text.charAt(i) : '.';
+            if (c == '.') {
+                if (digits == 0 || octets == 4) {
+                    return -1;
+                }
+                address = address << 8 | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (digits > 0 && value == 0) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    /**
+     * Canonical text: dotted quad for IPv4, RFC 5952 (lower case, longest zero run as ::) for IPv6
+     */
+    public static String format(byte[] address) {
+        if (address.length == 4) {
+            return (address[0] & 0xff) + "." + (address[1] & 0xff) + "." + (address[2] & 0xff) + "." + (address[3] & 0xff);
+        }
+        if (address.length != 16) {
+            throw new IllegalArgumentException("Not an IP address: " + address.length + " bytes");
+        }
+        // Longest run of at least two zero groups; the first one wins a tie
+        int bestStart = -1;
+        int bestLength = 1;
+        for (int group = 0; group < 8; ) {
+            if (group(address, group) != 0) {
+                group++;
+                continue;
+            }
+            int start = group;
+            while (group < 8 && group(address, group) == 0) {
+                group++;
+            }
+            if (group - start > bestLength) {
+                bestStart = start;
+                bestLength = group - start;
+            }
+        }
+        StringBuilder text = new StringBuilder(39);
+        for (int group = 0; group < 8; group++) {
+            if (group == bestStart) {
+                text.append("::");
+                group += bestLength - 1;
+                continue;
+            }
+            if (text.length() > 0 && text.charAt(text.length() - 1) != ':') {
+                text.append(':');
+            }
+            text.append(Integer.toHexString(group(address, group)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return the canonical text of an IP literal, or null when the text is not one
+     */
+    public static String canonical(String text) {
+        byte[] address = parse(text);
+        return address != null ? format(address) : null;
+    }
+
+    private static int group(byte[] address, int group) {
+        return (address[group * 2] & 0xff) << 8 | address[group * 2 + 1] & 0xff;
+    }
+
+    private static boolean parseIpv4(CharSequence text, int from, int to, byte[] address, int offset) {
+        long ipv4 = parseIpv4(text, from, to);
+        if (ipv4 < 0) {
+            return false;
+        }
+        for (int i = 3; i >= 0; i--) {
+            address[offset + i] = (byte) ipv4;
+            ipv4 >>>= 8;
+        }
+        return true;
+    }
+
+    private static byte[] parseIpv6(CharSequence text, int from, int to) {
+        byte[] address = new byte[16];
+        int length = 0;
+        int compressAt = -1;
+        int i = from;
+        if (text.charAt(i) == ':') {
+            if (to - i < 2 || text.charAt(i + 1) != ':') {
+                return null;
+            }
+            compressAt = 0;
+            i += 2;
+        }
+        while (i < to) {
+            if (length == 16) {
+                return null;
+            }
+            int groupStart = i;
+            int value = 0;
+            int digits = 0;
+            int hex;
+            while (i < to && digits <= 4 && (hex = Character.digit(text.charAt(i), 16)) >= 0) {
+                value = value << 4 | hex;
+                digits++;
+                i++;
+            }
+            if (i < to && text.charAt(i) == '.') {
+                // Embedded IPv4 in the last 32 bits
+                if (length > 12 || !parseIpv4(text, groupStart, to, address, length)) {
+                    return null;
+                }
+                length += 4;
+                break;
+            }
+            if (digits == 0 || digits > 4) {
+                return null;
+            }
+            address[length++] = (byte) (value >> 8);
+            address[length++] = (byte) value;
+            if (i == to) {
+                break;
+            }
+            if (text.charAt(i++) != ':' || i == to) {
+                return null;
+            }
+            if (text.charAt(i) == ':') {
+                if (compressAt >= 0) {
+                    return null;
+                }
+                compressAt = length;
+                i++;
+            }
+        }
+        if (compressAt >= 0) {
+            // :: stands for at least one zero group
+            if (length == 16) {
+                return null;
+            }
+            int shift = 16 - length;
+            System.arraycopy(address, compressAt, address, compressAt + shift, length - compressAt);
+            Arrays.fill(address, compressAt, compressAt + shift, (byte) 0);
+        } else if (length != 16) {
+            return null;
+        }
+        return isIpv4Mapped(address) ? Arrays.copyOfRange(address, 12, 16) : address;
+    }
+
+    private static boolean isIpv4Mapped(byte[] address) {
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0) {
+                return false;
+            }
+        }
+        return address[10] == (byte) 0xff && address[11] == (byte) 0xff;
+    }
+
+    /**
+     * An address block in CIDR notation, e.g. 10.0.0.0/8 or fc00::/7; a bare address is a block of one
+     */
+    public record Range(byte[] network, int prefixLength) {
+
+        public static Range parse(String cidr) {
+            String trimmed = cidr.trim();
+            int slash = trimmed.indexOf('/');
+            byte[] network = IpAddresses.parse(trimmed, 0, slash >= 0 ? slash : trimmed.length());
+            if (network == null) {
+                throw new IllegalArgumentException("Invalid address range: " + cidr);
+            }
+            int prefixLength = network.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(trimmed.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid address range: " + cidr);
+                }
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("Invalid prefix length in address range: " + cidr);
+                }
+            }
+            return new Range(network, prefixLength);
+        }
+
+        /**
+         * @param ipv4 an address from {@link IpAddresses#parseIpv4}
+         */
+        public boolean contains(long ipv4) {
+            if (network.length != 4) {
+                return false;
+            }
+            long bits = (network[0] & 0xffL) << 24 | (network[1] & 0xff) << 16 | (network[2] & 0xff) << 8 | network[3] & 0xff;
+            long mask = 0xffffffffL << (32 - prefixLength) & 0xffffffffL;
+            return (ipv4 & mask) == (bits & mask);
+        }
+
+        public boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xff << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
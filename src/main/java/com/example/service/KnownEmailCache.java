@@ -0,0 +1,63 @@
+package com.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.example.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Bounded LRU set of emails known to belong to a stored submission.
+ * Lets repeated submitters be rejected without a database round trip; the unique index
+ * on form_submissions.email stays the source of truth for everything not in the cache.
+ * Entries are only added after commit and removed when this instance deletes the submission.
+ */
+@Component
+public class KnownEmailCache {
+    
+    private final Map<String, Boolean> emails;
+    
+    public KnownEmailCache(@Value("${form-submissions.email-cache.max-size:100000}") int maxSize) {
+        this.emails = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    public synchronized boolean contains(String email) {
+        return emails.containsKey(email);
+    }
+    
+    /**
+     * Remember emails once the current transaction commits
+     */
+    public void addAfterCommit(Collection<String> newEmails) {
+        if (!newEmails.isEmpty()) {
+            afterCommit(() -> add(newEmails));
+        }
+    }
+    
+    /**
+     * Forget an email once the current transaction commits
+     */
+    public void removeAfterCommit(String email) {
+        afterCommit(() -> remove(email));
+    }
+    
+    public synchronized void add(Collection<String> newEmails) {
+        newEmails.forEach(email -> emails.put(email, Boolean.TRUE));
+    }
+    
+    public synchronized void remove(String email) {
+        emails.remove(email);
+    }
+    
+    public synchronized int size() {
+        return emails.size();
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.SheetsOutboxEntity;
+import com.example.entity.SheetsOutboxEntity.OutboxState;
+import com.example.repository.FormSubmissionRepository;
+import com.example.repository.SheetsOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 后台投递 outbox 中的 Google Sheets 写入，失败时按指数退避重试
+ * 超过最大重试次数的记录标记为 FAILED 并保留在表中，不会丢失
+ * 记录在短事务中认领 (租约期内不会被再次认领)，调用 Sheets API 时不持有行锁和数据库连接
+ * 本实例执行全量同步期间暂停投递，避免在清空后的工作表上与同步交错写入；同步失败后立即恢复投递
+ * 指标: sheets.outbox.pending/failed (队列深度), sheets.outbox.lag (登记到写入的延迟),
+ * sheets.outbox.delivered/retries/failures (按操作计数)
+ */
+@Component
+@Slf4j
+public class SheetsOutboxDispatcher {
+    
+    private final SheetsOutboxRepository sheetsOutboxRepository;
+    private final FormSubmissionRepository formSubmissionRepository;
+    private final SheetsSyncService sheetsSyncService;
+    private final GoogleSheetsService googleSheetsService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    // 最近一次成功投递与最近一次失败，供 google-sheets 端点报告
+    private volatile LocalDateTime lastDeliveryAt;
+    private volatile LocalDateTime lastFailureAt;
+    private volatile String lastError;
+    
+    @Value("${google.sheets.outbox.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${google.sheets.outbox.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${google.sheets.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+    
+    @Value("${google.sheets.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+    
+    @Value("${google.sheets.outbox.lease-ms:120000}")
+    private long leaseMs;
+    
+    public SheetsOutboxDispatcher(SheetsOutboxRepository sheetsOutboxRepository,
+                                  FormSubmissionRepository formSubmissionRepository,
+                                  SheetsSyncService sheetsSyncService,
+                                  GoogleSheetsService googleSheetsService,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.sheetsOutboxRepository = sheetsOutboxRepository;
+        this.formSubmissionRepository = formSubmissionRepository;
+        this.sheetsSyncService = sheetsSyncService;
+        this.googleSheetsService = googleSheetsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        
+        // Counted when scraped, not on every poll
+        Gauge.builder("sheets.outbox.pending", sheetsOutboxRepository, repository -> repository.countByState(OutboxState.PENDING))
+            .description("Google Sheets outbox entries waiting for delivery")
+            .register(meterRegistry);
+        Gauge.builder("sheets.outbox.failed", sheetsOutboxRepository, repository -> repository.countByState(OutboxState.FAILED))
+            .description("Google Sheets outbox entries that exhausted their retries")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Drain all due outbox entries, one batch at a time
+     * Entries stay pending while a full sync is rewriting the sheet; it writes their rows itself
+     */
+    @Scheduled(fixedDelayString = "${google.sheets.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        int claimed;
+        do {
+            if (sheetsSyncService.isFullSyncInProgress()) {
+                log.debug("Full sync to Google Sheets in progress, outbox delivery paused");
+                return;
+            }
+            claimed = dispatchBatch();
+        } while (claimed >= batchSize);
+    }
+    
+    /**
+     * Dispatch one batch of due entries
+     * Entries are claimed with a lease in a short transaction and written to the sheet outside of it,
+     * so no row lock or connection is held across the Sheets API call; the outcome is recorded in a
+     * second transaction. APPEND entries are coalesced into one batched append and UPDATE_STATUS
+     * entries into one ranged write
+     *
+     * @return number of entries claimed
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Claim claim = transactionTemplate.execute(status -> claim(now));
+        if (claim == null || claim.entries().isEmpty()) {
+            return 0;
+        }
+        List<SheetsOutboxEntity> entries = claim.entries();
+        
+        List<SheetsOutboxEntity> delivered = new ArrayList<>();
+        // Entries kept in the table with a new state or next attempt
+        List<SheetsOutboxEntity> rescheduled = new ArrayList<>();
+        List<SheetsOutboxEntity> retried = new ArrayList<>();
+        // Keep per-submission ordering: once an entry fails, later entries for it wait
+        Set<Long> blockedSubmissions = new HashSet<>();
+        
+        List<SheetsOutboxEntity> appends = entries.stream()
+            .filter(entry -> entry.getOperation().isAppend())
+            .toList();
+        if (!appends.isEmpty()) {
+            try {
+                if (!claim.submissions().isEmpty()) {
+                    // 增量同步可能已先写入该行，按行索引更新而不是重复追加
+                    googleSheetsService.upsertSubmissionsToSheet(claim.submissions());
+                }
+                delivered.addAll(appends);
+            } catch (Exception e) {
+                for (SheetsOutboxEntity entry : appends) {
+                    blockedSubmissions.addAll(targetIds(entry));
+                    recordFailure(entry, e, now, rescheduled, retried);
+                }
+            }
+        }
+        
+        // Single and bulk status updates are coalesced into one ranged write; the last update per submission wins
+        List<SheetsOutboxEntity> statusUpdates = new ArrayList<>();
+        for (SheetsOutboxEntity entry : entries) {
+            if (entry.getOperation().isAppend()) {
+                continue;
+            }
+            if (targetIds(entry).stream().anyMatch(blockedSubmissions::contains)) {
+                // Released for the next poll instead of waiting out the lease
+                entry.setNextAttemptAt(now);
+                rescheduled.add(entry);
+            } else {
+                statusUpdates.add(entry);
+            }
+        }
+        if (!statusUpdates.isEmpty()) {
+            Map<Long, String> statusBySubmissionId = new LinkedHashMap<>();
+            statusUpdates.forEach(entry -> targetIds(entry).forEach(submissionId ->
+                statusBySubmissionId.put(submissionId, entry.getTargetStatus().toString())));
+            try {
+                Set<Long> notInSheet = googleSheetsService.updateSubmissionStatuses(statusBySubmissionId);
+                for (SheetsOutboxEntity entry : statusUpdates) {
+                    List<Long> pending = targetIds(entry).stream().filter(notInSheet::contains).toList();
+                    if (pending.isEmpty()) {
+                        delivered.add(entry);
+                    } else {
+                        // Only the rows that are not in the sheet yet are retried
+                        if (entry.getOperation().isBulk()) {
+                            entry.setSubmissionIdList(pending);
+                        }
+                        recordFailure(entry, new IllegalStateException(
+                            "Submissions " + pending + " are not in the sheet yet"), now, rescheduled, retried);
+                    }
+                }
+            } catch (Exception e) {
+                statusUpdates.forEach(entry -> recordFailure(entry, e, now, rescheduled, retried));
+            }
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            sheetsOutboxRepository.deleteAllInBatch(delivered);
+            sheetsOutboxRepository.saveAll(rescheduled);
+        });
+        recordDelivered(delivered);
+        
+        // One warning per batch: during an outage every entry fails with the same error
+        if (!retried.isEmpty()) {
+            SheetsOutboxEntity first = retried.get(0);
+            log.warn("{} Google Sheets outbox entries failed and will be retried, first: entry {} (attempt {}): {}",
+                retried.size(), first.getId(), first.getAttempts(), first.getLastError());
+        }
+        log.debug("Dispatched {}/{} Google Sheets outbox entries", delivered.size(), entries.size());
+        return entries.size();
+    }
+    
+    /**
+     * Lock the due entries, push their next attempt past the lease so no other dispatcher claims them
+     * while this one writes the sheet, and load the submissions to append.
+     * An entry whose dispatcher dies mid-write becomes due again once the lease runs out
+     */
+    private Claim claim(LocalDateTime now) {
+        List<SheetsOutboxEntity> entries = sheetsOutboxRepository.findDueEntries(
+            OutboxState.PENDING, now, PageRequest.of(0, batchSize));
+        LocalDateTime leaseExpiry = now.plusNanos(leaseMs * 1_000_000);
+        entries.forEach(entry -> entry.setNextAttemptAt(leaseExpiry));
+        
+        List<Long> submissionIds = entries.stream()
+            .filter(entry -> entry.getOperation().isAppend())
+            .flatMap(entry -> targetIds(entry).stream())
+            .distinct()
+            .toList();
+        // Bulk entries can carry many ids; load them in bounded IN lists
+        Map<Long, FormSubmissionEntity> submissionsById = new HashMap<>();
+        for (int from = 0; from < submissionIds.size(); from += SheetsOutboxService.MAX_IDS_PER_ENTRY) {
+            List<Long> chunk = submissionIds.subList(from, Math.min(from + SheetsOutboxService.MAX_IDS_PER_ENTRY, submissionIds.size()));
+            formSubmissionRepository.findAllById(chunk).forEach(submission -> submissionsById.put(submission.getId(), submission));
+        }
+        
+        // Submissions deleted before they reached the sheet have nothing to write
+        List<FormSubmissionEntity> submissions = submissionIds.stream()
+            .map(submissionsById::get)
+            .filter(Objects::nonNull)
+            .toList();
+        return new Claim(entries, submissions);
+    }
+    
+    private void recordDelivered(List<SheetsOutboxEntity> delivered) {
+        if (delivered.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (SheetsOutboxEntity entry : delivered) {
+            meterRegistry.counter("sheets.outbox.delivered", "operation", entry.getOperation().name()).increment();
+            if (entry.getCreatedAt() != null) {
+                meterRegistry.timer("sheets.outbox.lag").record(Duration.between(entry.getCreatedAt(), now));
+            }
+        }
+        lastDeliveryAt = now;
+    }
+    
+    public LocalDateTime getLastDeliveryAt() {
+        return lastDeliveryAt;
+    }
+    
+    public LocalDateTime getLastFailureAt() {
+        return lastFailureAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    private static List<Long> targetIds(SheetsOutboxEntity entry) {
+        return entry.getOperation().isBulk()
+            ? entry.getSubmissionIdList()
+            : List.of(entry.getSubmissionId());
+    }
+    
+    private void recordFailure(SheetsOutboxEntity entry, Exception e, LocalDateTime now,
+                               List<SheetsOutboxEntity> rescheduled, List<SheetsOutboxEntity> retried) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(e.toString()));
+        lastFailureAt = now;
+        lastError = entry.getLastError();
+        rescheduled.add(entry);
+        
+        if (attempts >= maxAttempts) {
+            entry.setState(OutboxState.FAILED);
+            meterRegistry.counter("sheets.outbox.failures", "operation", entry.getOperation().name()).increment();
+            log.error("Giving up on Google Sheets outbox entry {} ({} for {} submissions) after {} attempts",
+                entry.getId(), entry.getOperation(), targetIds(entry).size(), attempts, e);
+        } else {
+            long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+            entry.setNextAttemptAt(now.plusNanos(backoff * 1_000_000));
+            meterRegistry.counter("sheets.outbox.retries", "operation", entry.getOperation().name()).increment();
+            retried.add(entry);
+            log.debug("Google Sheets outbox entry {} failed (attempt {}), retrying in {} ms: {}",
+                entry.getId(), attempts, backoff, e.getMessage());
+        }
+    }
+    
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+    
+    private record Claim(List<SheetsOutboxEntity> entries, List<FormSubmissionEntity> submissions) {
+    }
+}
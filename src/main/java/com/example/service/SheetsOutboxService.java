@@ -0,0 +1,99 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import com.example.entity.SheetsOutboxEntity;
+import com.example.entity.SheetsOutboxEntity.OutboxOperation;
+import com.example.repository.SheetsOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将 Google Sheets 写入登记到 outbox 表
+ * 必须在业务事务内调用，保证提交数据与 outbox 记录一起提交或回滚
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class SheetsOutboxService {
+    
+    // 与 sheets_outbox.submission_ids 列长度 (20000) 对应
+    static final int MAX_IDS_PER_ENTRY = 1000;
+    
+    private final SheetsOutboxRepository sheetsOutboxRepository;
+    
+    @Value("${google.sheets.auto-sync:true}")
+    private boolean autoSync;
+    
+    /**
+     * Enqueue appending a new submission as a sheet row
+     */
+    public void enqueueAppend(FormSubmissionEntity submission) {
+        enqueue(OutboxOperation.APPEND, submission.getId(), null);
+    }
+    
+    /**
+     * Enqueue a status change for an existing sheet row
+     */
+    public void enqueueStatusUpdate(Long submissionId, SubmissionStatus status) {
+        enqueue(OutboxOperation.UPDATE_STATUS, submissionId, status);
+    }
+    
+    /**
+     * Enqueue appending many new submissions as sheet rows
+     */
+    public void enqueueBulkAppend(List<Long> submissionIds) {
+        enqueueBulk(OutboxOperation.APPEND_BULK, submissionIds, null);
+    }
+    
+    /**
+     * Enqueue one status change for many existing sheet rows
+     */
+    public void enqueueBulkStatusUpdate(List<Long> submissionIds, SubmissionStatus status) {
+        enqueueBulk(OutboxOperation.UPDATE_STATUS_BULK, submissionIds, status);
+    }
+    
+    // 每条记录最多 MAX_IDS_PER_ENTRY 个 id，由 SheetsOutboxDispatcher 合并为一次批量写入
+    private void enqueueBulk(OutboxOperation operation, List<Long> submissionIds, SubmissionStatus targetStatus) {
+        if (!autoSync || submissionIds.isEmpty()) {
+            return;
+        }
+        
+        List<SheetsOutboxEntity> entries = new ArrayList<>();
+        for (int from = 0; from < submissionIds.size(); from += MAX_IDS_PER_ENTRY) {
+            SheetsOutboxEntity entry = new SheetsOutboxEntity();
+            entry.setOperation(operation);
+            entry.setSubmissionIdList(submissionIds.subList(from, Math.min(from + MAX_IDS_PER_ENTRY, submissionIds.size())));
+            entry.setTargetStatus(targetStatus);
+            entry.setNextAttemptAt(LocalDateTime.now());
+            entries.add(entry);
+        }
+        sheetsOutboxRepository.saveAll(entries);
+        
+        log.debug("Enqueued {} for {} submissions to Google Sheets outbox", operation, submissionIds.size());
+    }
+    
+    private void enqueue(OutboxOperation operation, Long submissionId, SubmissionStatus targetStatus) {
+        if (!autoSync) {
+            return;
+        }
+        
+        SheetsOutboxEntity entry = new SheetsOutboxEntity();
+        entry.setOperation(operation);
+        entry.setSubmissionId(submissionId);
+        entry.setTargetStatus(targetStatus);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        sheetsOutboxRepository.save(entry);
+        
+        log.debug("Enqueued {} for submission {} to Google Sheets outbox", operation, submissionId);
+    }
+}
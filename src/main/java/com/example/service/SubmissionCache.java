@@ -0,0 +1,130 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.example.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Bounded read-through cache for single-submission lookups by id and by email.
+ * Writers evict the affected ids after commit; a load racing with that eviction finishes
+ * first (Caffeine blocks an invalidation on the key being loaded), so a value read before
+ * the commit can never be stored after it. Reads inside a read-write transaction bypass the
+ * cache so uncommitted changes are never cached. Callers get their own copy of a cached entry.
+ */
+@Component
+public class SubmissionCache {
+
+    private final boolean enabled;
+    private final Cache<Long, FormSubmissionEntity> byId;
+    // Resolved through byId, so a status change only has to evict the id
+    private final Cache<String, Long> idByEmail;
+
+    public SubmissionCache(@Value("${form-submissions.cache.enabled:true}") boolean enabled,
+                           @Value("${form-submissions.cache.max-size:10000}") long maxSize,
+                           @Value("${form-submissions.cache.ttl:10m}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.idByEmail = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "submissions.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "submissions.by-email");
+    }
+
+    public Optional<FormSubmissionEntity> getById(Long id, Function<Long, Optional<FormSubmissionEntity>> loader) {
+        if (!isUsable()) {
+            return loader.apply(id);
+        }
+        FormSubmissionEntity cached = byId.get(id, key -> loader.apply(key).map(SubmissionCache::copy).orElse(null));
+        return Optional.ofNullable(cached).map(SubmissionCache::copy);
+    }
+
+    public Optional<FormSubmissionEntity> getByEmail(String email,
+                                                     Function<String, Optional<FormSubmissionEntity>> emailLoader,
+                                                     Function<Long, Optional<FormSubmissionEntity>> idLoader) {
+        if (!isUsable()) {
+            return emailLoader.apply(email);
+        }
+        Long id = idByEmail.get(email, key -> emailLoader.apply(key).map(FormSubmissionEntity::getId).orElse(null));
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<FormSubmissionEntity> submission = getById(id, idLoader);
+        if (submission.isPresent() && email.equals(submission.get().getEmail())) {
+            return submission;
+        }
+        // The submission behind the mapping was deleted since it was cached
+        idByEmail.invalidate(email);
+        return emailLoader.apply(email);
+    }
+
+    /**
+     * Last change of a submission: taken from its cached entry when there is one, otherwise from
+     * the loader, which is expected to read only the timestamp and is not cached.
+     * Does not count as a cache hit or miss.
+     */
+    public Optional<LocalDateTime> getVersion(Long id, Function<Long, Optional<LocalDateTime>> versionLoader) {
+        FormSubmissionEntity cached = isUsable() ? byId.policy().getIfPresentQuietly(id) : null;
+        if (cached == null) {
+            return versionLoader.apply(id);
+        }
+        return Optional.of(cached.getUpdatedAt() != null ? cached.getUpdatedAt() : cached.getCreatedAt());
+    }
+
+    /**
+     * Evict submissions once the current transaction commits
+     */
+    public void evictAfterCommit(Collection<Long> ids) {
+        if (enabled && !ids.isEmpty()) {
+            afterCommit(() -> byId.invalidateAll(ids));
+        }
+    }
+
+    /**
+     * Evict a deleted submission and its email mapping once the current transaction commits
+     */
+    public void evictAfterCommit(Long id, String email) {
+        if (enabled) {
+            afterCommit(() -> {
+                byId.invalidate(id);
+                idByEmail.invalidate(email);
+            });
+        }
+    }
+
+    public void clear() {
+        byId.invalidateAll();
+        idByEmail.invalidateAll();
+    }
+
+    private boolean isUsable() {
+        return enabled && (!TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    private static FormSubmissionEntity copy(FormSubmissionEntity submission) {
+        return new FormSubmissionEntity(submission.getId(), submission.getName(), submission.getEmail(),
+            submission.getAddress(), submission.getPhoneNumber(), submission.getComments(), submission.getCreatedAt(),
+            submission.getUpdatedAt(), submission.getSubmittedByIp(), submission.getSubmittedByIpBytes(), submission.getStatus());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the newest-first (createdAt, id) order of submissions.
+ * Clients only see it as an opaque URL-safe token and pass it back to get the following page.
+ */
+public record SubmissionCursor(LocalDateTime createdAt, Long id) {
+    
+    private static final char SEPARATOR = '|';
+    
+    public static SubmissionCursor of(FormSubmissionEntity submission) {
+        return new SubmissionCursor(submission.getCreatedAt(), submission.getId());
+    }
+    
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SubmissionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new SubmissionCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
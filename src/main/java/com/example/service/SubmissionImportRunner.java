@@ -0,0 +1,61 @@
+package com.example.service;
+
+import com.example.service.SubmissionImportService.ImportResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line CSV import: imports the file and writes the error report next to it.
+ * java -jar form-submission-service.jar --spring.main.web-application-type=none \
+ *     --form-submissions.import.file=submissions.csv
+ * FormSubmissionApplication then closes the context and exits with {@link #getExitCode()}:
+ * 0 when every row was imported, 2 when some were rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "form-submissions.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    static final int ROWS_REJECTED = 2;
+
+    private final SubmissionImportService submissionImportService;
+
+    @Value("${form-submissions.import.file}")
+    private String file;
+
+    @Value("${form-submissions.import.report-file:}")
+    private String reportFile;
+
+    private int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path input = Path.of(file);
+        Path report = reportFile.isEmpty() ? Path.of(file + ".errors.csv") : Path.of(reportFile);
+
+        ImportResult result;
+        try (InputStream in = Files.newInputStream(input)) {
+            result = submissionImportService.importCsv(in, null, report);
+        }
+        log.info("Import of {} finished: {} rows, {} created, {} rejected{}", input, result.received(),
+            result.created(), result.rejected(), result.errorReport() != null ? ", see " + result.errorReport() : "");
+
+        exitCode = result.rejected() > 0 ? ROWS_REJECTED : 0;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
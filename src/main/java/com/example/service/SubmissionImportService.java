@@ -0,0 +1,274 @@
+package com.example.service;
+
+import com.example.dto.FormSubmissionRequestDto;
+import com.example.entity.FormSubmissionEntity;
+import com.example.mapper.FormSubmissionMapper;
+import com.example.service.FormSubmissionService.BatchItemResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of historical submissions from CSV.
+ * The input is read as a stream in chunks; each chunk is validated in parallel against the
+ * FormSubmissionRequestDto constraints, de-duplicated by email within the file, and persisted
+ * through FormSubmissionService.createSubmissions, which rejects emails already in the database
+ * and inserts the rest as JDBC batches in one transaction per chunk.
+ * Rejected rows are written to a CSV error report as they are found.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionImportService {
+
+    private static final DateTimeFormatter REPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Pattern REPORT_FILE_NAME = Pattern.compile("import-[0-9]{8}-[0-9]{6}-[0-9a-f]{8}\\.csv");
+
+    private final FormSubmissionService formSubmissionService;
+    private final FormSubmissionMapper mapper;
+    private final Validator validator;
+
+    @Value("${form-submissions.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${form-submissions.import.report-dir:./data/import-reports}")
+    private String reportDir;
+
+    /**
+     * Import a CSV upload; the error report, if any, goes to a new file in the report directory
+     */
+    public ImportResult importCsv(InputStream input, String submittedByIp) throws IOException {
+        String fileName = "import-" + LocalDateTime.now().format(REPORT_TIMESTAMP) + "-"
+            + UUID.randomUUID().toString().substring(0, 8) + ".csv";
+        return importCsv(input, submittedByIp, Path.of(reportDir).resolve(fileName));
+    }
+
+    /**
+     * Import CSV rows with a header naming at least the name, email and address columns.
+     * Headers are matched ignoring case, spaces and underscores, so files exported from
+     * /export or the Google Sheet can be imported as they are; unknown columns are ignored.
+     *
+     * @param reportPath where rejected rows are written; only created if a row is rejected
+     * @throws IllegalArgumentException if the header is missing a required column or the CSV is malformed
+     */
+    public ImportResult importCsv(InputStream input, String submittedByIp, Path reportPath) throws IOException {
+        long start = System.currentTimeMillis();
+        Csv.RecordReader reader = new Csv.RecordReader(
+            new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024));
+        ColumnMapping columns = ColumnMapping.of(reader.next());
+
+        Set<String> seenEmails = new HashSet<>();
+        long received = 0;
+        long created = 0;
+        int rowNumber = 0;
+        try (ErrorReport report = new ErrorReport(reportPath)) {
+            List<CsvRow> chunk = new ArrayList<>(chunkSize);
+            List<String> fields;
+            do {
+                fields = reader.next();
+                if (fields != null && !(fields.size() == 1 && fields.get(0).isBlank())) {
+                    chunk.add(new CsvRow(++rowNumber, fields));
+                }
+                if (chunk.size() == chunkSize || (fields == null && !chunk.isEmpty())) {
+                    received += chunk.size();
+                    created += importChunk(chunk, columns, submittedByIp, seenEmails, report);
+                    chunk.clear();
+                }
+            } while (fields != null);
+
+            long rejected = received - created;
+            log.info("Imported {}/{} submissions from CSV in {} ms", created, received,
+                System.currentTimeMillis() - start);
+            return new ImportResult(received, created, rejected, rejected > 0 ? reportPath : null);
+        }
+    }
+
+    /**
+     * An error report written by this service, if the name is one it generated
+     */
+    public Optional<Path> findReport(String fileName) {
+        if (!REPORT_FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path path = Path.of(reportDir).resolve(fileName);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Returns the number of rows created
+    private int importChunk(List<CsvRow> chunk, ColumnMapping columns, String submittedByIp,
+                            Set<String> seenEmails, ErrorReport report) throws IOException {
+        // Parsing and bean validation are independent per row
+        List<CheckedRow> checked = chunk.parallelStream()
+            .map(row -> check(row, columns))
+            .toList();
+
+        List<CheckedRow> accepted = new ArrayList<>(checked.size());
+        List<FormSubmissionEntity> submissions = new ArrayList<>(checked.size());
+        for (CheckedRow row : checked) {
+            if (row.error() != null) {
+                report.reject(row.rowNumber(), row.email(), row.error());
+            } else if (!seenEmails.add(row.email())) {
+                report.reject(row.rowNumber(), row.email(), "Duplicate email in file");
+            } else {
+                FormSubmissionRequestDto requestDto = row.request();
+                requestDto.setSubmittedByIp(submittedByIp);
+                accepted.add(row);
+                submissions.add(mapper.toEntity(requestDto));
+            }
+        }
+        if (submissions.isEmpty()) {
+            return 0;
+        }
+
+        List<BatchItemResult> results = formSubmissionService.createSubmissions(submissions);
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult result = results.get(i);
+            if (result.isCreated()) {
+                created++;
+            } else {
+                report.reject(accepted.get(i).rowNumber(), accepted.get(i).email(), result.error());
+            }
+        }
+        return created;
+    }
+
+    private CheckedRow check(CsvRow row, ColumnMapping columns) {
+        if (row.fields().size() != columns.width()) {
+            String email = columns.email(row.fields());
+            return CheckedRow.rejected(row.rowNumber(), email,
+                "Expected " + columns.width() + " columns but found " + row.fields().size());
+        }
+
+        FormSubmissionRequestDto requestDto = columns.toRequest(row.fields());
+        String violations = validator.validate(requestDto).stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+        return violations.isEmpty()
+            ? new CheckedRow(row.rowNumber(), requestDto.getEmail(), requestDto, null)
+            : CheckedRow.rejected(row.rowNumber(), requestDto.getEmail(), violations);
+    }
+
+    /**
+     * @param errorReport the error report file, or null if no row was rejected
+     */
+    public record ImportResult(long received, long created, long rejected, Path errorReport) {}
+
+    private record CsvRow(int rowNumber, List<String> fields) {}
+
+    private record CheckedRow(int rowNumber, String email, FormSubmissionRequestDto request, String error) {
+
+        static CheckedRow rejected(int rowNumber, String email, String error) {
+            return new CheckedRow(rowNumber, email, null, error);
+        }
+    }
+
+    /**
+     * Positions of the request fields in the CSV header
+     */
+    private record ColumnMapping(int width, int name, int email, int address, int phoneNumber, int comments) {
+
+        static ColumnMapping of(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV is empty");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.putIfAbsent(normalize(header.get(i)), i);
+            }
+            for (String required : List.of("name", "email", "address")) {
+                if (!positions.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header has no " + required + " column");
+                }
+            }
+            return new ColumnMapping(header.size(), positions.get("name"), positions.get("email"),
+                positions.get("address"), positions.getOrDefault("phonenumber", -1),
+                positions.getOrDefault("comments", -1));
+        }
+
+        FormSubmissionRequestDto toRequest(List<String> fields) {
+            FormSubmissionRequestDto requestDto = new FormSubmissionRequestDto();
+            requestDto.setName(value(fields, name));
+            requestDto.setEmail(value(fields, email));
+            requestDto.setAddress(value(fields, address));
+            requestDto.setPhoneNumber(value(fields, phoneNumber));
+            requestDto.setComments(value(fields, comments));
+            return requestDto;
+        }
+
+        String email(List<String> fields) {
+            return value(fields, email);
+        }
+
+        // Empty cells become null, like an absent property in a JSON submission
+        private static String value(List<String> fields, int position) {
+            if (position < 0 || position >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(position).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static String normalize(String header) {
+            return header.replace("\uFEFF", "").replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * CSV of rejected rows (row number, email, reason), opened on the first rejection
+     */
+    private static final class ErrorReport implements Closeable {
+
+        private final Path path;
+        private Writer writer;
+
+        ErrorReport(Path path) {
+            this.path = path;
+        }
+
+        void reject(int rowNumber, String email, String error) throws IOException {
+            if (writer == null) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                writer.write("row,email,error\r\n");
+            }
+            writer.write(rowNumber + "," + Csv.escape(email != null ? email : "") + "," + Csv.escape(error) + "\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 提交记录的行布局 (列顺序与格式)
+ * Google Sheets 写入和数据导出共用，保证两边的列完全一致
+ */
+public final class SubmissionRowLayout {
+
+    /** 表头，顺序即列顺序 */
+    public static final List<String> HEADERS = List.of(
+        "ID", "Name", "Email", "Address", "Phone Number", "Comments", "Status", "Created At", "Submitted By IP");
+
+    /** NDJSON 导出时每列的字段名 */
+    public static final List<String> FIELD_NAMES = List.of(
+        "id", "name", "email", "address", "phoneNumber", "comments", "status", "createdAt", "submittedByIp");
+
+    /** 按列顺序查询 form_submissions 的字段列表 */
+    public static final String SELECT_COLUMNS =
+        "id, name, email, address, phone_number, comments, status, created_at, submitted_by_ip";
+
+    public static final int COLUMN_COUNT = HEADERS.size();
+
+    // Column G
+    public static final int STATUS_COLUMN = 6;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private SubmissionRowLayout() {
+    }
+
+    /**
+     * 由实体构建行数据
+     */
+    public static List<String> toRow(FormSubmissionEntity submission) {
+        return Arrays.asList(
+            submission.getId() != null ? submission.getId().toString() : "",
+            text(submission.getName()),
+            text(submission.getEmail()),
+            text(submission.getAddress()),
+            text(submission.getPhoneNumber()),
+            text(submission.getComments()),
+            submission.getStatus() != null ? submission.getStatus().toString() : "PENDING",
+            timestamp(submission.getCreatedAt()),
+            text(submission.getSubmittedByIp()));
+    }
+
+    /**
+     * 由 SELECT_COLUMNS 查询结果的当前行填充 cells，不创建实体
+     * cells 可在行之间复用
+     */
+    public static void readRow(ResultSet resultSet, String[] cells) throws SQLException {
+        long id = resultSet.getLong(1);
+        cells[0] = resultSet.wasNull() ? "" : Long.toString(id);
+        cells[1] = text(resultSet.getString(2));
+        cells[2] = text(resultSet.getString(3));
+        cells[3] = text(resultSet.getString(4));
+        cells[4] = text(resultSet.getString(5));
+        cells[5] = text(resultSet.getString(6));
+        String status = resultSet.getString(7);
+        cells[6] = status != null ? status : "PENDING";
+        cells[7] = timestamp(resultSet.getObject(8, LocalDateTime.class));
+        cells[8] = text(resultSet.getString(9));
+    }
+
+    private static String text(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value != null ? value.format(DATE_FORMATTER) : "";
+    }
+}
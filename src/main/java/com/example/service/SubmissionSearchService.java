@@ -0,0 +1,151 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.repository.FormSubmissionRepository;
+import com.example.service.search.SubmissionSearchIndex;
+import com.example.service.search.SubmissionSearchIndex.SearchField;
+import com.example.service.search.SubmissionSearchIndex.SearchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Ranked substring search over name, address and comments backed by an in-memory trigram index.
+ * The index is rebuilt from the database at startup and kept in sync after each committed write;
+ * until the rebuild finishes, searches fall back to the LIKE queries.
+ */
+@Service
+@Slf4j
+public class SubmissionSearchService {
+
+    private final FormSubmissionRepository formSubmissionRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final SubmissionSearchIndex index = new SubmissionSearchIndex();
+    // Keeps the rebuild from re-adding rows deleted after it read them
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @Value("${form-submissions.search.index-enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${form-submissions.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize;
+
+    public SubmissionSearchService(FormSubmissionRepository formSubmissionRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.formSubmissionRepository = formSubmissionRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Load every submission into the index, in keyset-paginated chunks
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!indexEnabled) {
+            return;
+        }
+
+        ready = false;
+        index.clear();
+        removedWhileLoading.clear();
+        long start = System.currentTimeMillis();
+
+        long lastId = 0;
+        List<FormSubmissionEntity> chunk;
+        do {
+            long fromId = lastId;
+            chunk = readOnlyTransactionTemplate.execute(status ->
+                formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(fromId, PageRequest.of(0, rebuildChunkSize)));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            index.indexAll(chunk.stream().filter(submission -> !removedWhileLoading.contains(submission.getId())).toList());
+            lastId = chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == rebuildChunkSize);
+
+        ready = true;
+        removedWhileLoading.clear();
+        log.info("Search index rebuilt with {} submissions in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Index created or updated submissions once the current transaction commits
+     */
+    public void indexAfterCommit(Collection<FormSubmissionEntity> submissions) {
+        if (indexEnabled && !submissions.isEmpty()) {
+            afterCommit(() -> index.indexAll(submissions));
+        }
+    }
+
+    /**
+     * Drop a deleted submission from the index once the current transaction commits
+     */
+    public void removeAfterCommit(Long submissionId) {
+        if (indexEnabled) {
+            afterCommit(() -> {
+                if (!ready) {
+                    removedWhileLoading.add(submissionId);
+                }
+                index.remove(submissionId);
+            });
+        }
+    }
+
+    /**
+     * Submissions whose given fields contain the query (case-insensitive), best matches first
+     */
+    public List<FormSubmissionEntity> search(String query, Set<SearchField> fields, Pageable pageable) {
+        if (!indexEnabled || !ready) {
+            return searchWithLikeQuery(query, fields, pageable);
+        }
+
+        SearchResult result = index.search(query, fields, (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.ids().isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, FormSubmissionEntity> byId = readOnlyTransactionTemplate.execute(status ->
+            formSubmissionRepository.findAllById(result.ids()).stream()
+                .collect(Collectors.toMap(FormSubmissionEntity::getId, Function.identity())));
+        // Keep the ranking order; a row deleted since the search is skipped
+        return result.ids().stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private List<FormSubmissionEntity> searchWithLikeQuery(String query, Set<SearchField> fields, Pageable pageable) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            if (fields.equals(Set.of(SearchField.NAME))) {
+                return formSubmissionRepository.findByNameContainingIgnoreCase(query, pageable);
+            }
+            if (fields.equals(Set.of(SearchField.ADDRESS))) {
+                return formSubmissionRepository.findByAddressContainingIgnoreCase(query, pageable);
+            }
+            return formSubmissionRepository.findByTextContainingIgnoreCase(query, pageable);
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import com.example.repository.FormSubmissionRepository;
+import com.example.repository.FormSubmissionRepository.StatusCount;
+import com.example.service.FormSubmissionService.SubmissionStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.example.service.TransactionCallbacks.afterCommit;
+
+/**
+ * In-memory submission counters per status, so /stats is answered without a database query.
+ * Loaded with one GROUP BY query at startup, adjusted after each committed write and
+ * periodically reconciled against the database to correct any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionStatsCounter {
+    
+    private final FormSubmissionRepository formSubmissionRepository;
+    
+    private final AtomicLong total = new AtomicLong();
+    private final Map<SubmissionStatus, AtomicLong> byStatus = newCounters();
+    private volatile boolean loaded;
+    // A lock rather than synchronized: the query must not pin a virtual thread's carrier
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    
+    /**
+     * Reload all counters from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${form-submissions.stats.reconcile-interval-ms:60000}",
+               initialDelayString = "${form-submissions.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            Map<SubmissionStatus, Long> counts = new EnumMap<>(SubmissionStatus.class);
+            long newTotal = 0;
+            for (StatusCount row : formSubmissionRepository.countGroupedByStatus()) {
+                newTotal += row.getCount();
+                if (row.getStatus() != null) {
+                    counts.put(row.getStatus(), row.getCount());
+                }
+            }
+            
+            if (loaded && newTotal != total.get()) {
+                log.debug("Submission counters drifted from the database: {} in memory, {} in database", total.get(), newTotal);
+            }
+            total.set(newTotal);
+            byStatus.forEach((status, counter) -> counter.set(counts.getOrDefault(status, 0L)));
+            loaded = true;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+    
+    /**
+     * Current counts; loads them from the database on first use
+     */
+    public SubmissionStats snapshot() {
+        if (!loaded) {
+            reconcile();
+        }
+        return new SubmissionStats(
+            total.get(),
+            byStatus.get(SubmissionStatus.PENDING).get(),
+            byStatus.get(SubmissionStatus.APPROVED).get(),
+            byStatus.get(SubmissionStatus.REJECTED).get(),
+            byStatus.get(SubmissionStatus.PROCESSING).get()
+        );
+    }
+    
+    public void recordCreated(SubmissionStatus status) {
+        afterCommit(() -> {
+            total.incrementAndGet();
+            increment(status, 1);
+        });
+    }
+    
+    public void recordStatusChanged(SubmissionStatus oldStatus, SubmissionStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        afterCommit(() -> {
+            increment(oldStatus, -1);
+            increment(newStatus, 1);
+        });
+    }
+    
+    public void recordStatusChanges(Map<SubmissionStatus, Long> countsByOldStatus, SubmissionStatus newStatus) {
+        afterCommit(() -> countsByOldStatus.forEach((oldStatus, count) -> {
+            if (oldStatus != newStatus) {
+                increment(oldStatus, -count);
+                increment(newStatus, count);
+            }
+        }));
+    }
+    
+    public void recordDeleted(SubmissionStatus status) {
+        afterCommit(() -> {
+            total.decrementAndGet();
+            increment(status, -1);
+        });
+    }
+    
+    private static Map<SubmissionStatus, AtomicLong> newCounters() {
+        Map<SubmissionStatus, AtomicLong> counters = new EnumMap<>(SubmissionStatus.class);
+        for (SubmissionStatus status : SubmissionStatus.values()) {
+            counters.put(status, new AtomicLong());
+        }
+        return counters;
+    }
+    
+    private void increment(SubmissionStatus status, long delta) {
+        if (status != null) {
+            byStatus.get(status).addAndGet(delta);
+        }
+    }
+}
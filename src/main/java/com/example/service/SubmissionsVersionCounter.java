@@ -0,0 +1,46 @@
+package com.example.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Database change counter of the submission table, the version of list pages for conditional GETs.
+ * Writers increment the single row of form_submissions_version (schema.sql) in their own transaction,
+ * so it becomes visible together with their changes and only ever grows, whichever instance made
+ * the change and whatever its clock says. Plain JDBC, as it runs in every write transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubmissionsVersionCounter {
+    
+    private static final String INCREMENT_SQL = "UPDATE form_submissions_version SET version = version + 1 WHERE id = 1";
+    private static final String SELECT_SQL = "SELECT version FROM form_submissions_version WHERE id = 1";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    
+    /**
+     * Record a change in the caller's transaction; call it after the changes
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment() {
+        // Pending entity changes are written first, so the counter row is always the last lock a writer takes
+        entityManager.flush();
+        if (jdbcTemplate.update(INCREMENT_SQL) == 0) {
+            throw new IllegalStateException("form_submissions_version has no row to increment");
+        }
+    }
+    
+    /**
+     * Current version; increases with every committed change
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long current() {
+        Long version = jdbcTemplate.queryForObject(SELECT_SQL, Long.class);
+        return version != null ? version : 0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects until the surrounding transaction commits,
+ * so rolled-back writes never leak into caches or counters
+ */
+final class TransactionCallbacks {
+    
+    private TransactionCallbacks() {
+    }
+    
+    /**
+     * Run the action after commit, or immediately when no transaction is active
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
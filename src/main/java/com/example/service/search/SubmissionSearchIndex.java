@@ -0,0 +1,355 @@
+package com.example.service.search;
+
+import com.example.entity.FormSubmissionEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over submission name, address and comments.
+ * Answers case-insensitive substring queries (the same semantics as LOWER(col) LIKE '%q%')
+ * by intersecting the posting lists of the query's trigrams and verifying the candidates,
+ * so no query has to look at every row.
+ * <p>
+ * Every indexed version of a submission gets a new, increasing document number, which keeps
+ * posting lists sorted and append-only; replaced and removed documents are tombstoned and
+ * dropped by {@link #compact()} once they outnumber the live ones.
+ */
+public class SubmissionSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> documentNumberById = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private int tombstones;
+
+    /**
+     * Add or replace a submission; an older version never replaces a newer one
+     */
+    public void index(FormSubmissionEntity submission) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(submission);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<FormSubmissionEntity> submissions) {
+        lock.writeLock().lock();
+        try {
+            submissions.forEach(this::indexLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long submissionId) {
+        lock.writeLock().lock();
+        try {
+            Integer documentNumber = documentNumberById.remove(submissionId);
+            if (documentNumber != null) {
+                tombstone(documentNumber);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            documentNumberById.clear();
+            postings.clear();
+            tombstones = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentNumberById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find submissions whose fields contain the query, best matches first
+     *
+     * @return ids of the requested page and the total number of matches
+     */
+    public SearchResult search(String query, Set<SearchField> fields, int offset, int limit) {
+        String needle = normalize(query);
+        lock.readLock().lock();
+        try {
+            List<ScoredMatch> matches = new ArrayList<>();
+            for (int documentNumber : candidates(needle, fields)) {
+                Document document = documents.get(documentNumber);
+                if (document == null) {
+                    continue;
+                }
+                int score = document.score(needle, fields);
+                if (score > 0) {
+                    matches.add(new ScoredMatch(document.id, score));
+                }
+            }
+
+            matches.sort(Comparator.comparingInt(ScoredMatch::score).reversed()
+                .thenComparing(ScoredMatch::id, Comparator.reverseOrder()));
+            List<Long> page = matches.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(ScoredMatch::id)
+                .toList();
+            return new SearchResult(page, matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the posting lists without tombstoned documents
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexLocked(FormSubmissionEntity submission) {
+        Integer existing = documentNumberById.get(submission.getId());
+        if (existing != null) {
+            if (documents.get(existing).isNewerThan(submission.getUpdatedAt())) {
+                return;
+            }
+            tombstone(existing);
+        }
+
+        Document document = new Document(submission.getId(), submission.getUpdatedAt(),
+            normalize(submission.getName()), normalize(submission.getAddress()), normalize(submission.getComments()));
+        addDocument(document);
+
+        if (tombstones > MIN_TOMBSTONES_TO_COMPACT && tombstones > documentNumberById.size()) {
+            compactLocked();
+        }
+    }
+
+    private void addDocument(Document document) {
+        int documentNumber = documents.size();
+        documents.add(document);
+        documentNumberById.put(document.id, documentNumber);
+        for (SearchField field : SearchField.values()) {
+            for (String gram : grams(document.value(field))) {
+                postings.computeIfAbsent(key(field, gram), k -> new PostingList()).add(documentNumber);
+            }
+        }
+    }
+
+    private void tombstone(int documentNumber) {
+        documents.set(documentNumber, null);
+        tombstones++;
+    }
+
+    private void compactLocked() {
+        List<Document> live = documents.stream().filter(document -> document != null).toList();
+        documents.clear();
+        documentNumberById.clear();
+        postings.clear();
+        tombstones = 0;
+        live.forEach(this::addDocument);
+        postings.values().forEach(PostingList::trim);
+    }
+
+    // Short queries have no trigram to look up and are checked against every live document
+    private int[] candidates(String needle, Set<SearchField> fields) {
+        if (needle.length() < GRAM) {
+            return documentNumberById.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        Set<String> grams = grams(needle);
+        int[] union = new int[0];
+        for (SearchField field : fields) {
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : grams) {
+                PostingList list = postings.get(key(field, gram));
+                if (list == null) {
+                    lists = null;
+                    break;
+                }
+                lists.add(list);
+            }
+            if (lists != null) {
+                union = PostingList.union(union, PostingList.intersect(lists));
+            }
+        }
+        return union;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String key(SearchField field, String gram) {
+        return (char) ('0' + field.ordinal()) + gram;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    public enum SearchField {
+
+        NAME(3), ADDRESS(2), COMMENTS(1);
+
+        private final int weight;
+
+        SearchField(int weight) {
+            this.weight = weight;
+        }
+
+        public static Set<SearchField> all() {
+            return EnumSet.allOf(SearchField.class);
+        }
+    }
+
+    public record SearchResult(List<Long> ids, int totalMatches) {}
+
+    private record ScoredMatch(Long id, int score) {}
+
+    private record Document(Long id, LocalDateTime updatedAt, String name, String address, String comments) {
+
+        String value(SearchField field) {
+            return switch (field) {
+                case NAME -> name;
+                case ADDRESS -> address;
+                case COMMENTS -> comments;
+            };
+        }
+
+        boolean isNewerThan(LocalDateTime other) {
+            return updatedAt != null && other != null && updatedAt.isAfter(other);
+        }
+
+        /**
+         * Exact field match ranks above a prefix match, above a match at a word start, above any other substring;
+         * 0 if no selected field contains the query
+         */
+        int score(String needle, Set<SearchField> fields) {
+            int score = 0;
+            for (SearchField field : fields) {
+                String value = value(field);
+                int position = value.indexOf(needle);
+                if (position < 0) {
+                    continue;
+                }
+                int matchScore;
+                if (value.length() == needle.length()) {
+                    matchScore = 8;
+                } else if (position == 0) {
+                    matchScore = 4;
+                } else if (!Character.isLetterOrDigit(value.charAt(position - 1))) {
+                    matchScore = 2;
+                } else {
+                    matchScore = 1;
+                }
+                score += matchScore * field.weight;
+            }
+            return score;
+        }
+    }
+
+    /**
+     * Growable sorted array of document numbers
+     */
+    private static final class PostingList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int documentNumber) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = documentNumber;
+        }
+
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        static int[] intersect(List<PostingList> lists) {
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            PostingList smallest = lists.get(0);
+            int[] result = Arrays.copyOf(smallest.values, smallest.size);
+            int length = result.length;
+            for (int l = 1; l < lists.size() && length > 0; l++) {
+                PostingList other = lists.get(l);
+                int kept = 0;
+                int j = 0;
+                for (int i = 0; i < length && j < other.size; i++) {
+                    while (j < other.size && other.values[j] < result[i]) {
+                        j++;
+                    }
+                    if (j < other.size && other.values[j] == result[i]) {
+                        result[kept++] = result[i];
+                    }
+                }
+                length = kept;
+            }
+            return Arrays.copyOf(result, length);
+        }
+
+        static int[] union(int[] a, int[] b) {
+            if (a.length == 0) {
+                return b;
+            }
+            if (b.length == 0) {
+                return a;
+            }
+            int[] result = new int[a.length + b.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.length || j < b.length) {
+                int next;
+                if (j == b.length || (i < a.length && a[i] < b[j])) {
+                    next = a[i++];
+                } else if (i == a.length || b[j] < a[i]) {
+                    next = b[j++];
+                } else {
+                    next = a[i++];
+                    j++;
+                }
+                result[n++] = next;
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+}
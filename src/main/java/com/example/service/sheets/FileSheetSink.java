@@ -0,0 +1,151 @@
+package com.example.service.sheets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * 本地文件写入目标 (默认)，每行一条记录，列之间以制表符分隔
+ */
+@Component
+@ConditionalOnProperty(name = "google.sheets.sink", havingValue = "file", matchIfMissing = true)
+public class FileSheetSink implements SheetSink {
+    
+    private final Path path;
+    
+    public FileSheetSink(@Value("${google.sheets.file-sink.path:./data/sheets-sink.tsv}") String path) {
+        this.path = Path.of(path);
+    }
+    
+    @Override
+    public synchronized int appendRows(List<List<String>> rows) {
+        try {
+            int firstRowIndex = readLines().size();
+            createParentDirectories();
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (List<String> row : rows) {
+                    writer.write(toLine(row));
+                    writer.newLine();
+                }
+            }
+            return firstRowIndex;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append rows to " + path, e);
+        }
+    }
+    
+    @Override
+    public synchronized void updateRows(int firstRowIndex, List<List<String>> rows) {
+        try {
+            List<String> lines = readLines();
+            checkRange(lines, firstRowIndex, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                lines.set(firstRowIndex + i, toLine(rows.get(i)));
+            }
+            Files.write(path, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update rows in " + path, e);
+        }
+    }
+    
+    @Override
+    public synchronized void updateColumnRanges(int columnIndex, SortedMap<Integer, List<String>> valuesByFirstRowIndex) {
+        try {
+            List<String> lines = readLines();
+            for (Map.Entry<Integer, List<String>> range : valuesByFirstRowIndex.entrySet()) {
+                checkRange(lines, range.getKey(), range.getValue().size());
+            }
+            for (Map.Entry<Integer, List<String>> range : valuesByFirstRowIndex.entrySet()) {
+                List<String> values = range.getValue();
+                for (int i = 0; i < values.size(); i++) {
+                    int rowIndex = range.getKey() + i;
+                    List<String> row = new ArrayList<>(List.of(lines.get(rowIndex).split("\t", -1)));
+                    row.set(columnIndex, values.get(i));
+                    lines.set(rowIndex, toLine(row));
+                }
+            }
+            Files.write(path, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update column " + columnIndex + " in " + path, e);
+        }
+    }
+    
+    @Override
+    public synchronized List<String> readRowKeys() {
+        try {
+            List<String> lines = readLines();
+            List<String> keys = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                int tab = line.indexOf('\t');
+                keys.add(tab < 0 ? line : line.substring(0, tab));
+            }
+            return keys;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
+        }
+    }
+    
+    @Override
+    public synchronized int rowCount() {
+        try {
+            return readLines().size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
+        }
+    }
+    
+    @Override
+    public synchronized void clearRows() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear " + path, e);
+        }
+    }
+    
+    private List<String> readLines() throws IOException {
+        return Files.exists(path) ? Files.readAllLines(path, StandardCharsets.UTF_8) : new ArrayList<>();
+    }
+    
+    private void createParentDirectories() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+    
+    private void checkRange(List<String> lines, int firstRowIndex, int count) {
+        if (firstRowIndex < 0 || firstRowIndex + count > lines.size()) {
+            throw new IndexOutOfBoundsException("Rows " + firstRowIndex + ".." + (firstRowIndex + count)
+                + " outside sheet file of " + lines.size() + " rows");
+        }
+    }
+    
+    private static String toLine(List<String> row) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            line.append(sanitize(row.get(i)));
+        }
+        return line.toString();
+    }
+    
+    private static String sanitize(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
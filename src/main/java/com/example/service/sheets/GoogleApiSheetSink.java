@@ -0,0 +1,74 @@
+package com.example.service.sheets;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Google Sheets API 写入目标，需显式配置 google.sheets.sink=google
+ * API 调用尚未接入：在接入之前启动即失败，outbox 投递和手动同步不会在一个只会抛出异常的写入目标上运行。
+ * 接入时实现下列方法并删除 checkImplemented；在此之前请使用默认的 file 写入目标
+ */
+@Component
+@ConditionalOnProperty(name = "google.sheets.sink", havingValue = "google")
+public class GoogleApiSheetSink implements SheetSink {
+    
+    @Value("${google.sheets.spreadsheet-id:18ea2cQeXOt96dGbssCP_ynsTP5AHEmQpFXE48-PtToo}")
+    private String spreadsheetId;
+    
+    @Value("${google.sheets.worksheet-name:Sheet1}")
+    private String worksheetName;
+    
+    @PostConstruct
+    void checkImplemented() {
+        throw new IllegalStateException("google.sheets.sink=google is not available yet: the Google Sheets API calls for "
+            + spreadsheetId + "!" + worksheetName + " are not implemented; use google.sheets.sink=file (the default)");
+    }
+    
+    @Override
+    public int appendRows(List<List<String>> rows) {
+        // 这里您需要集成实际的 Google Sheets API 调用 (spreadsheets.values.append)
+        // 可以使用您现有的 MCP 工具或 Google Sheets API 库
+        // 起始行序号从响应的 updates.updatedRange 中解析 (第 1 行为表头)
+        throw notImplemented("spreadsheets.values.append");
+    }
+    
+    @Override
+    public void updateRows(int firstRowIndex, List<List<String>> rows) {
+        // 这里需要调用 spreadsheets.values.update 覆盖连续区域 (第 1 行为表头)
+        throw notImplemented("spreadsheets.values.update");
+    }
+    
+    @Override
+    public void updateColumnRanges(int columnIndex, SortedMap<Integer, List<String>> valuesByFirstRowIndex) {
+        // 这里需要调用 spreadsheets.values.batchUpdate，每个连续区域一个 ValueRange
+        throw notImplemented("spreadsheets.values.batchUpdate");
+    }
+    
+    @Override
+    public List<String> readRowKeys() {
+        // 这里需要调用 spreadsheets.values.get 读取 A2:A 区域
+        throw notImplemented("spreadsheets.values.get");
+    }
+    
+    @Override
+    public int rowCount() {
+        // 这里需要调用 spreadsheets.values.get 读取 A2:A 区域并取返回的行数
+        throw notImplemented("spreadsheets.values.get");
+    }
+    
+    @Override
+    public void clearRows() {
+        // 这里需要清除表头以下的数据区域 (spreadsheets.values.clear, 范围 A2:I)
+        throw notImplemented("spreadsheets.values.clear");
+    }
+    
+    private UnsupportedOperationException notImplemented(String method) {
+        return new UnsupportedOperationException("Google Sheets API call " + method + " for "
+            + spreadsheetId + "!" + worksheetName + " is not implemented; set google.sheets.sink to file");
+    }
+}
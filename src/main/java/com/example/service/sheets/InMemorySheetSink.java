@@ -0,0 +1,86 @@
+package com.example.service.sheets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * 内存写入目标，用于测试和本地开发替代 Google Sheets
+ */
+@Component
+@ConditionalOnProperty(name = "google.sheets.sink", havingValue = "memory")
+public class InMemorySheetSink implements SheetSink {
+    
+    private final List<List<String>> rows = new ArrayList<>();
+    
+    @Override
+    public synchronized int appendRows(List<List<String>> newRows) {
+        int firstRowIndex = rows.size();
+        for (List<String> row : newRows) {
+            rows.add(new ArrayList<>(row));
+        }
+        return firstRowIndex;
+    }
+    
+    @Override
+    public synchronized void updateRows(int firstRowIndex, List<List<String>> newRows) {
+        checkRange(firstRowIndex, newRows.size());
+        for (int i = 0; i < newRows.size(); i++) {
+            rows.set(firstRowIndex + i, new ArrayList<>(newRows.get(i)));
+        }
+    }
+    
+    @Override
+    public synchronized void updateColumnRanges(int columnIndex, SortedMap<Integer, List<String>> valuesByFirstRowIndex) {
+        for (Map.Entry<Integer, List<String>> range : valuesByFirstRowIndex.entrySet()) {
+            checkRange(range.getKey(), range.getValue().size());
+        }
+        for (Map.Entry<Integer, List<String>> range : valuesByFirstRowIndex.entrySet()) {
+            List<String> values = range.getValue();
+            for (int i = 0; i < values.size(); i++) {
+                rows.get(range.getKey() + i).set(columnIndex, values.get(i));
+            }
+        }
+    }
+    
+    @Override
+    public synchronized List<String> readRowKeys() {
+        List<String> keys = new ArrayList<>(rows.size());
+        for (List<String> row : rows) {
+            keys.add(row.get(0));
+        }
+        return keys;
+    }
+    
+    @Override
+    public synchronized int rowCount() {
+        return rows.size();
+    }
+    
+    @Override
+    public synchronized void clearRows() {
+        rows.clear();
+    }
+    
+    /**
+     * Snapshot of the current sheet contents
+     */
+    public synchronized List<List<String>> getRows() {
+        List<List<String>> copy = new ArrayList<>(rows.size());
+        for (List<String> row : rows) {
+            copy.add(List.copyOf(row));
+        }
+        return copy;
+    }
+    
+    private void checkRange(int firstRowIndex, int count) {
+        if (firstRowIndex < 0 || firstRowIndex + count > rows.size()) {
+            throw new IndexOutOfBoundsException("Rows " + firstRowIndex + ".." + (firstRowIndex + count)
+                + " outside sheet of " + rows.size() + " rows");
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.service.sheets;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 提交 ID 到工作表数据行序号的索引
+ * 首次使用时从本地文件加载 (文件缺失或不属于当前工作表时由调用方从工作表重建)，
+ * 追加行时增量更新，并定期写回本地文件，重启后无需重新扫描工作表
+ * 文件中同时记录索引覆盖的数据行数；进程崩溃时最后一次写回之后追加的行不在文件中，
+ * 调用方加载后将其与工作表的实际行数比较，不一致时重建
+ */
+@Component
+@Slf4j
+public class SheetRowIndex {
+    
+    private static final int FILE_VERSION = 2;
+    
+    private final Path path;
+    private final String sheetIdentity;
+    
+    private Map<Long, Integer> rowIndexById;
+    // Data rows in the sheet as far as the index knows, including rows without a submission id
+    private int rowCount;
+    private boolean dirty;
+    
+    public SheetRowIndex(@Value("${google.sheets.row-index.path:./data/sheet-row-index.bin}") String path,
+                         @Value("${google.sheets.spreadsheet-id:18ea2cQeXOt96dGbssCP_ynsTP5AHEmQpFXE48-PtToo}") String spreadsheetId,
+                         @Value("${google.sheets.worksheet-name:Sheet1}") String worksheetName) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.sheetIdentity = spreadsheetId + "!" + worksheetName;
+    }
+    
+    /**
+     * Whether the index is in memory; if not, call {@link #loadFromDisk()} or {@link #rebuild(List)}
+     */
+    public synchronized boolean isLoaded() {
+        return rowIndexById != null;
+    }
+    
+    /**
+     * Load the persisted index; the caller compares {@link #rowCount()} with the sheet before trusting it
+     *
+     * @return false if there is no usable index file for this sheet
+     */
+    public synchronized boolean loadFromDisk() {
+        if (path == null || !Files.exists(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FILE_VERSION || !sheetIdentity.equals(in.readUTF())) {
+                log.info("Ignoring sheet row index {} written for another sheet or format", path);
+                return false;
+            }
+            int loadedRowCount = in.readInt();
+            int size = in.readInt();
+            Map<Long, Integer> loaded = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+            for (int i = 0; i < size; i++) {
+                loaded.put(in.readLong(), in.readInt());
+            }
+            rowIndexById = loaded;
+            rowCount = loadedRowCount;
+            dirty = false;
+            log.info("Loaded sheet row index with {} entries for {} rows from {}", size, loadedRowCount, path);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to read sheet row index {}, it will be rebuilt from the sheet", path, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Replace the index with the id column read from the sheet
+     */
+    public synchronized void rebuild(List<String> rowKeys) {
+        Map<Long, Integer> rebuilt = new HashMap<>(Math.max(16, rowKeys.size() * 4 / 3 + 1));
+        for (int i = 0; i < rowKeys.size(); i++) {
+            try {
+                rebuilt.putIfAbsent(Long.parseLong(rowKeys.get(i).trim()), i);
+            } catch (NumberFormatException e) {
+                // Not a submission row (e.g. a manually added note)
+            }
+        }
+        rowIndexById = rebuilt;
+        rowCount = rowKeys.size();
+        dirty = true;
+        log.info("Rebuilt sheet row index with {} entries from the sheet", rebuilt.size());
+    }
+    
+    /**
+     * Forget all rows, e.g. after the sheet has been cleared
+     */
+    public synchronized void reset() {
+        rowIndexById = new HashMap<>();
+        rowCount = 0;
+        dirty = true;
+    }
+    
+    /**
+     * @return the data row index of the submission, or null if it is not in the sheet
+     */
+    public synchronized Integer rowIndexOf(Long submissionId) {
+        return rowIndexById.get(submissionId);
+    }
+    
+    /**
+     * @return number of data rows the index accounts for; the next append is expected at this row index
+     */
+    public synchronized int rowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * Record rows appended contiguously starting at firstRowIndex
+     */
+    public synchronized void recordAppend(List<Long> submissionIds, int firstRowIndex) {
+        if (rowIndexById == null) {
+            return;
+        }
+        for (int i = 0; i < submissionIds.size(); i++) {
+            rowIndexById.putIfAbsent(submissionIds.get(i), firstRowIndex + i);
+        }
+        rowCount = Math.max(rowCount, firstRowIndex + submissionIds.size());
+        dirty = true;
+    }
+    
+    /**
+     * Write the index to disk if it changed since the last flush
+     */
+    @Scheduled(fixedDelayString = "${google.sheets.row-index.flush-interval-ms:10000}")
+    public void flush() {
+        Map<Long, Integer> snapshot;
+        int snapshotRowCount;
+        synchronized (this) {
+            if (path == null || !dirty || rowIndexById == null) {
+                return;
+            }
+            snapshot = new HashMap<>(rowIndexById);
+            snapshotRowCount = rowCount;
+            dirty = false;
+        }
+        
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FILE_VERSION);
+                out.writeUTF(sheetIdentity);
+                out.writeInt(snapshotRowCount);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Long, Integer> entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.warn("Failed to write sheet row index to {}", path, e);
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+}
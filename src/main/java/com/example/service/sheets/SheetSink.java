@@ -0,0 +1,45 @@
+package com.example.service.sheets;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * 工作表写入目标
+ * 行以从 0 开始的数据行序号定位 (不含表头)，行的第一列为提交 ID
+ */
+public interface SheetSink {
+    
+    /**
+     * 追加多行到工作表末尾，失败时抛出异常
+     *
+     * @return 第一条追加行的数据行序号
+     */
+    int appendRows(List<List<String>> rows);
+    
+    /**
+     * 从 firstRowIndex 开始覆盖写入连续的多行，失败时抛出异常
+     */
+    void updateRows(int firstRowIndex, List<List<String>> rows);
+    
+    /**
+     * 在一次请求中覆盖写入同一列的多个连续区域，失败时抛出异常
+     *
+     * @param valuesByFirstRowIndex 每个区域的起始数据行序号及该区域自上而下的值
+     */
+    void updateColumnRanges(int columnIndex, SortedMap<Integer, List<String>> valuesByFirstRowIndex);
+    
+    /**
+     * 按顺序读取所有数据行的第一列，失败时抛出异常
+     */
+    List<String> readRowKeys();
+    
+    /**
+     * 数据行数 (不含表头)，失败时抛出异常
+     */
+    int rowCount();
+    
+    /**
+     * 清除所有数据行 (保留表头)，失败时抛出异常
+     */
+    void clearRows();
+}
@@ -0,0 +1,55 @@
+package com.example.service.sheets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Google Sheets API 请求的令牌桶限流器
+ * 按配额匀速补充令牌，允许 burst 个请求的突发，取代固定的 Thread.sleep
+ */
+@Component
+public class SheetsRateLimiter {
+    
+    private final double capacity;
+    private final double tokensPerNano;
+    
+    private double availableTokens;
+    private long lastRefillNanos;
+    
+    public SheetsRateLimiter(@Value("${google.sheets.rate-limit.requests-per-minute:60}") int requestsPerMinute,
+                             @Value("${google.sheets.rate-limit.burst:10}") int burst) {
+        if (requestsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit and burst must be positive");
+        }
+        this.capacity = burst;
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.availableTokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    /**
+     * Block until one API request may be sent
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+    
+    /**
+     * Take a token, going into debt if none is available
+     *
+     * @return nanoseconds the caller has to wait before its token becomes valid
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        availableTokens = Math.min(capacity, availableTokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        
+        availableTokens -= 1;
+        return availableTokens >= 0 ? 0 : (long) Math.ceil(-availableTokens / tokensPerNano);
+    }
+}
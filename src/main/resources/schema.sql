@@ -1,6 +1,9 @@
 -- schema.sql - Database schema for form submissions
+-- Increment must match allocationSize of the pooled id generator in FormSubmissionEntity
+CREATE SEQUENCE IF NOT EXISTS form_submissions_id_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS form_submissions (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT DEFAULT nextval('form_submissions_id_seq') PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     email VARCHAR(255) NOT NULL,
     address VARCHAR(500) NOT NULL,
@@ -8,15 +11,68 @@ CREATE TABLE IF NOT EXISTS form_submissions (
     comments TEXT,
     status VARCHAR(20) DEFAULT 'PENDING',
     submitted_by_ip VARCHAR(45),
+    -- submitted_by_ip as 4 (IPv4) or 16 (IPv6) bytes for per-address lookups
+    submitted_by_ip_bytes VARBINARY(16),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
 -- Add indexes for better performance
-CREATE INDEX IF NOT EXISTS idx_form_submissions_email ON form_submissions(email);
-CREATE INDEX IF NOT EXISTS idx_form_submissions_status ON form_submissions(status);
-CREATE INDEX IF NOT EXISTS idx_form_submissions_created_at ON form_submissions(created_at);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_form_submissions_email ON form_submissions(email);
+-- Newest-first (created_at, id) cursor pages, optionally by status, and status / date range filters;
+-- descending so the rows come out in page order without a sort
+CREATE INDEX IF NOT EXISTS idx_form_submissions_status_created_at ON form_submissions(status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_form_submissions_created_at ON form_submissions(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_form_submissions_phone_number ON form_submissions(phone_number);
 CREATE INDEX IF NOT EXISTS idx_form_submissions_name ON form_submissions(name);
+CREATE INDEX IF NOT EXISTS idx_form_submissions_updated_at ON form_submissions(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_form_submissions_ip ON form_submissions(submitted_by_ip_bytes, created_at DESC, id DESC);
+
+-- Change counter of form_submissions, incremented by every transaction that inserts, updates or deletes
+-- submissions; versions the list ETags
+CREATE TABLE IF NOT EXISTS form_submissions_version (
+    id INT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO form_submissions_version (id, version)
+SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM form_submissions_version);
+
+-- Outbox for asynchronous Google Sheets writes, committed together with the submission
+CREATE TABLE IF NOT EXISTS sheets_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    operation VARCHAR(20) NOT NULL,
+    submission_id BIGINT,
+    submission_ids VARCHAR(20000),
+    target_status VARCHAR(20),
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_sheets_outbox_state_next_attempt ON sheets_outbox(state, next_attempt_at);
+
+-- Checkpoints for resumable Google Sheets syncs
+CREATE TABLE IF NOT EXISTS sheets_sync_state (
+    sync_name VARCHAR(50) PRIMARY KEY,
+    last_synced_id BIGINT NOT NULL DEFAULT 0,
+    watermark TIMESTAMP,
+    running BOOLEAN NOT NULL DEFAULT FALSE,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Responses to POST requests with an Idempotency-Key, replayed to retries until expires_at
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INT NOT NULL,
+    response_body VARCHAR(8000),
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
 
--- Add unique constraint on email if needed
--- ALTER TABLE form_submissions ADD CONSTRAINT uk_form_submissions_email UNIQUE (email);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
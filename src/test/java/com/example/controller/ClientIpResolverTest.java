@@ -0,0 +1,70 @@
+package com.example.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(List.of("10.0.0.0/8", "127.0.0.0/8", "::1/128"));
+
+    @Test
+    void forwardingHeaders_AreIgnoredFromUntrustedPeers() {
+        // When / Then
+        assertEquals("203.0.113.5", resolver.clientIp("203.0.113.5", "198.51.100.1", "198.51.100.2"));
+    }
+
+    @Test
+    void forwardedFor_IsWalkedFromTheRightToTheFirstUntrustedHop() {
+        // Given a client that sent its own X-Forwarded-For through two trusted proxies
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 198.51.100.7, 10.0.0.1");
+
+        // When
+        String clientIp = resolver.clientIp(request);
+
+        // Then the spoofed first entry is skipped
+        assertEquals("198.51.100.7", clientIp);
+    }
+
+    @Test
+    void forwardedFor_StripsPortsAndBracketsAndCanonicalizesIpv6() {
+        // When / Then
+        assertEquals("198.51.100.7", resolver.clientIp("127.0.0.1", "198.51.100.7:52144", null));
+        assertEquals("2001:db8::1", resolver.clientIp("127.0.0.1", "[2001:DB8:0::1]:443", null));
+        assertEquals("2001:db8::1", resolver.clientIp("::1", "2001:db8:0:0:0:0:0:1", null));
+        assertEquals("192.0.2.1", resolver.clientIp("127.0.0.1", "::ffff:192.0.2.1", null));
+    }
+
+    @Test
+    void forwardedFor_StopsAtAnInvalidHop() {
+        // When / Then the last address a trusted proxy vouched for is used
+        assertEquals("10.0.0.1", resolver.clientIp("127.0.0.1", "198.51.100.7, unknown, 10.0.0.1", null));
+        assertEquals("127.0.0.1", resolver.clientIp("127.0.0.1", "unknown", null));
+    }
+
+    @Test
+    void invalidRemoteAddress_IsReportedAsUnknownAndHeadersIgnored() {
+        // When / Then
+        assertEquals(ClientIpResolver.UNKNOWN, resolver.clientIp("/var/run/app.sock" + "x".repeat(100), "198.51.100.7", null));
+        assertEquals(ClientIpResolver.UNKNOWN, resolver.clientIp(null, null, "198.51.100.9"));
+    }
+
+    @Test
+    void forwardedFor_OnlyThroughTrustedProxies_ReturnsTheLeftmostHop() {
+        // When / Then
+        assertEquals("10.1.1.1", resolver.clientIp("127.0.0.1", "10.1.1.1,10.0.0.1", null));
+    }
+
+    @Test
+    void realIp_IsUsedWithoutForwardedFor() {
+        // When / Then
+        assertEquals("198.51.100.9", resolver.clientIp("127.0.0.1", null, "198.51.100.9"));
+        assertEquals("127.0.0.1", resolver.clientIp("127.0.0.1", null, "not-an-ip"));
+        assertEquals("198.51.100.7", resolver.clientIp("127.0.0.1", "198.51.100.7", "198.51.100.9"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 60 per minute: one token per second, up to 3 at once
+    private final KeyedRateLimiter limiter = new KeyedRateLimiter("ip", 60, 3, 1000, meterRegistry, nanos::get);
+
+    @Test
+    void tryAcquire_AllowsTheBurstThenRefillsAtTheRate() {
+        // When / Then
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("203.0.113.9"));
+        }
+        long waitNanos = limiter.tryAcquire("203.0.113.9");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), waitNanos);
+        assertEquals(0, limiter.tryAcquire("198.51.100.7"), "other keys have their own bucket");
+
+        nanos.addAndGet(waitNanos);
+        assertEquals(0, limiter.tryAcquire("203.0.113.9"));
+        assertTrue(limiter.tryAcquire("203.0.113.9") > 0);
+    }
+
+    @Test
+    void rejections_AreCountedPerRequestAndThrottledKeysPerEpisode() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("203.0.113.9");
+        }
+
+        // When
+        limiter.tryAcquire("203.0.113.9");
+        limiter.tryAcquire("203.0.113.9");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("203.0.113.9");
+        limiter.tryAcquire("203.0.113.9");
+
+        // Then
+        assertEquals(3, meterRegistry.get("submissions.rate-limit.rejected").tag("limit", "ip").counter().count());
+        assertEquals(2, meterRegistry.get("submissions.rate-limit.throttled-keys").tag("limit", "ip").counter().count());
+        assertEquals(1, meterRegistry.get("submissions.rate-limit.keys").tag("limit", "ip").gauge().value());
+    }
+
+    @Test
+    void idleBuckets_AreDroppedOnceFull() {
+        // Given
+        limiter.tryAcquire("203.0.113.9");
+
+        // When the burst window has passed
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(3) + 1);
+        limiter.tryAcquire("198.51.100.7");
+
+        // Then only the recent key is tracked
+        assertEquals(1, meterRegistry.get("submissions.rate-limit.keys").tag("limit", "ip").gauge().value());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    @Test
+    void doFilter_WritesOneSummaryLineWithTheHandlerDetail() throws Exception {
+        // Given
+        RequestLogFilter filter = new RequestLogFilter(true, 1.0, Duration.ofSeconds(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/form-submissions");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(RequestLogFilter.DETAIL_ATTRIBUTE, "submissionId=42");
+            ((HttpServletResponse) res).setStatus(201);
+        };
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("method=POST uri=/api/v1/form-submissions status=201 durationMs="), line);
+        assertTrue(line.endsWith(" submissionId=42"), line);
+    }
+
+    @Test
+    void doFilter_SampledOut_StillLogsErrors() throws Exception {
+        // Given: no successful request is sampled
+        RequestLogFilter filter = new RequestLogFilter(true, 0.0, Duration.ofSeconds(1));
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/form-submissions/1"),
+            new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/form-submissions/2"), notFound,
+            (req, res) -> ((HttpServletResponse) res).setStatus(404));
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(
+            new MockHttpServletRequest("GET", "/api/v1/form-submissions/3"), new MockHttpServletResponse(),
+            (req, res) -> { throw new IllegalStateException("boom"); }));
+
+        // Then
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("uri=/api/v1/form-submissions/2 status=404"));
+        assertTrue(appender.list.get(1).getFormattedMessage().contains("uri=/api/v1/form-submissions/3 status=500"));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.controller;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import com.example.service.FormSubmissionService;
+import com.example.service.SubmissionCache;
+import com.example.service.SubmissionsVersionCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ETag / If-None-Match handling of the submission read endpoints
+ */
+@SpringBootTest(properties = {
+    "google.sheets.sink=memory",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.com.example=WARN"
+})
+class SubmissionConditionalGetTest {
+
+    private static final String BASE_URL = "/api/v1/form-submissions";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private FormSubmissionService formSubmissionService;
+
+    @Autowired
+    private SubmissionCache submissionCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubmissionsVersionCounter submissionsVersionCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void getSubmission_UnchangedSince_Returns304WithoutLoadingTheSubmission() throws Exception {
+        // Given
+        Long id = formSubmissionService.createSubmission(submission("etag-single@example.com")).getId();
+        String eTag = mockMvc.perform(get(BASE_URL + "/" + id))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        // When: revalidated from the cached entry, and again from the database
+        double lookups = submissionLookups();
+        mockMvc.perform(get(BASE_URL + "/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+        submissionCache.clear();
+        mockMvc.perform(get(BASE_URL + "/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Then: the submission itself was never looked up
+        assertEquals(lookups, submissionLookups());
+
+        // When the submission changes, the old ETag no longer matches
+        formSubmissionService.updateSubmissionStatus(id, SubmissionStatus.APPROVED);
+        String newETag = mockMvc.perform(get(BASE_URL + "/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("APPROVED"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    void getSubmission_UnknownId_Returns404EvenWithIfNoneMatch() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/999999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listPages_Return304UntilASubmissionIsAddedChangedOrDeleted() throws Exception {
+        // Given
+        Long id = formSubmissionService.createSubmission(submission("etag-list@example.com")).getId();
+        String eTag = eTag(BASE_URL);
+        assertEquals(eTag, eTag(BASE_URL + "/status/PENDING?page=0"));
+
+        mockMvc.perform(get(BASE_URL + "?size=5").header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + eTag))
+            .andExpect(status().isNotModified());
+
+        // Update
+        formSubmissionService.updateSubmissionStatus(id, SubmissionStatus.REJECTED);
+        mockMvc.perform(get(BASE_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+        String afterUpdate = eTag(BASE_URL);
+
+        // Delete
+        formSubmissionService.deleteSubmission(id);
+        mockMvc.perform(get(BASE_URL).header(HttpHeaders.IF_NONE_MATCH, afterUpdate))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void listPages_DeleteCommittedByAnotherInstance_ChangesTheETag() throws Exception {
+        // Given
+        Long id = formSubmissionService.createSubmission(submission("etag-other-instance@example.com")).getId();
+        String eTag = eTag(BASE_URL);
+
+        // When: deleted the way another instance would, leaving this instance's in-memory counters untouched
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM form_submissions WHERE id = ?", id);
+            submissionsVersionCounter.increment();
+        });
+
+        // Then
+        mockMvc.perform(get(BASE_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void stats_UnchangedCounts_Returns304() throws Exception {
+        // Given
+        String eTag = eTag(BASE_URL + "/stats");
+
+        // Then
+        mockMvc.perform(get(BASE_URL + "/stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        formSubmissionService.createSubmission(submission("etag-stats@example.com"));
+        mockMvc.perform(get(BASE_URL + "/stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    private String eTag(String url) throws Exception {
+        String eTag = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    // Hits and misses of the by-id cache, i.e. every getSubmissionById call
+    private double submissionLookups() {
+        return meterRegistry.get("cache.gets").tag("cache", "submissions.by-id").functionCounters().stream()
+            .mapToDouble(FunctionCounter::count)
+            .sum();
+    }
+
+    private static FormSubmissionEntity submission(String email) {
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setName("ETag User");
+        submission.setEmail(email);
+        submission.setAddress("1 ETag Street");
+        return submission;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionRateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SubmissionRateLimitFilter filter = new SubmissionRateLimitFilter(true,
+        new ClientIpResolver(List.of("127.0.0.0/8")),
+        new KeyedRateLimiter("ip", 60, 2, 1000, meterRegistry),
+        new KeyedRateLimiter("email-domain", 60, 3, 1000, meterRegistry));
+    private final List<String> forwardedBodies = new ArrayList<>();
+
+    @Test
+    void clientOverItsBurst_GetsTooManyRequestsWithoutReachingTheController() throws Exception {
+        // When
+        int first = submit("203.0.113.9", "a@one.example").getStatus();
+        int second = submit("203.0.113.9", "b@two.example").getStatus();
+        MockHttpServletResponse third = submit("203.0.113.9", "c@three.example");
+
+        // Then
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(429, third.getStatus());
+        assertEquals("1", third.getHeader("Retry-After"));
+        assertEquals(2, forwardedBodies.size());
+        assertEquals(200, submit("198.51.100.7", "d@four.example").getStatus());
+    }
+
+    @Test
+    void emailDomainOverItsBurst_IsLimitedAcrossClients() throws Exception {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, submit("203.0.113." + i, "user" + i + "@Spam.Example").getStatus());
+        }
+        MockHttpServletResponse rejected = submit("203.0.113.10", "user@spam.example");
+
+        // Then
+        assertEquals(429, rejected.getStatus());
+        assertEquals(1, meterRegistry.get("submissions.rate-limit.rejected").tag("limit", "email-domain").counter().count());
+    }
+
+    @Test
+    void forwardedRequest_StillHasTheWholeBody() throws Exception {
+        // Given a body longer than the scanned prefix
+        String comments = "x".repeat(SubmissionRateLimitFilter.MAX_SCANNED_BODY_BYTES);
+        String body = "{\"name\":\"Jane\",\"email\":\"jane@example.com\",\"comments\":\"" + comments + "\"}";
+
+        // When
+        filter.doFilter(request("203.0.113.9", body), new MockHttpServletResponse(),
+            (req, res) -> forwardedBodies.add(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(List.of(body), forwardedBodies);
+    }
+
+    @Test
+    void batchAndImport_TakeATokenFromTheClientsBucket() throws Exception {
+        // Given
+        MockHttpServletRequest batch = request("203.0.113.9", "[{\"email\":\"a@one.example\"}]");
+        batch.setRequestURI("/api/v1/form-submissions/batch");
+        MockHttpServletRequest csvImport = request("203.0.113.9", "name,email\nJane,jane@one.example\n");
+        csvImport.setRequestURI("/api/v1/form-submissions/import");
+        csvImport.setContentType("text/csv");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(batch, new MockHttpServletResponse(), (req, res) -> forwardedBodies.add("batch"));
+        filter.doFilter(csvImport, new MockHttpServletResponse(), (req, res) -> forwardedBodies.add("import"));
+        filter.doFilter(request("203.0.113.9", "{}"), rejected, (req, res) -> forwardedBodies.add("single"));
+
+        // Then
+        assertEquals(List.of("batch", "import"), forwardedBodies);
+        assertEquals(429, rejected.getStatus());
+        assertEquals(1, meterRegistry.get("submissions.rate-limit.rejected").tag("limit", "ip").counter().count());
+    }
+
+    @Test
+    void pathParametersAndPercentEncoding_DoNotBypassTheLimit() throws Exception {
+        // Given spellings of the submit path that the handler mapping still routes to the endpoint
+        MockHttpServletRequest withParameter = request("203.0.113.9", "{}");
+        withParameter.setRequestURI("/api/v1/form-submissions;x=1");
+        MockHttpServletRequest encoded = request("203.0.113.9", "{}");
+        encoded.setRequestURI("/api/v1/form%2Dsubmissions");
+        MockHttpServletRequest encodedBatch = request("203.0.113.9", "[]");
+        encodedBatch.setRequestURI("/api/v1/form-submissions/%62atch;jsessionid=1");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // When
+        assertFalse(filter.shouldNotFilter(withParameter));
+        assertFalse(filter.shouldNotFilter(encoded));
+        assertFalse(filter.shouldNotFilter(encodedBatch));
+        filter.doFilter(withParameter, new MockHttpServletResponse(), (req, res) -> forwardedBodies.add("parameter"));
+        filter.doFilter(encoded, new MockHttpServletResponse(), (req, res) -> forwardedBodies.add("encoded"));
+        filter.doFilter(encodedBatch, rejected, (req, res) -> forwardedBodies.add("batch"));
+
+        // Then
+        assertEquals(List.of("parameter", "encoded"), forwardedBodies);
+        assertEquals(429, rejected.getStatus());
+    }
+
+    @Test
+    void otherRequests_AreNotLimited() throws Exception {
+        // Given
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/v1/form-submissions");
+        MockHttpServletRequest sync = request("203.0.113.9", "{}");
+        sync.setRequestURI("/api/v1/form-submissions/sync-to-sheets");
+        MockHttpServletRequest batch = request("203.0.113.9", "[]");
+        batch.setRequestURI("/api/v1/form-submissions/batch");
+
+        // When / Then
+        assertTrue(filter.shouldNotFilter(get));
+        assertTrue(filter.shouldNotFilter(sync));
+        assertFalse(filter.shouldNotFilter(batch));
+        assertFalse(filter.shouldNotFilter(request("203.0.113.9", "{}")));
+    }
+
+    @Test
+    void keys_GroupIpv6ClientsByPrefixAndEmailsByDomain() {
+        // When / Then
+        assertEquals("2001:db8:1:2::/64", SubmissionRateLimitFilter.ipKey("2001:db8:1:2:aaaa::1"));
+        assertEquals("203.0.113.9", SubmissionRateLimitFilter.ipKey("203.0.113.9"));
+        assertEquals("example.com", SubmissionRateLimitFilter.emailDomain(
+            "{\"name\":\"J\",\"tags\":{\"email\":\"x@nested.example\"},\"email\":\"j@Example.COM\"}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(SubmissionRateLimitFilter.emailDomain("{\"email\":\"no-at-sign\"}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(SubmissionRateLimitFilter.emailDomain("not json".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private MockHttpServletResponse submit(String clientIp, String email) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(clientIp, "{\"name\":\"Jane\",\"email\":\"" + email + "\",\"address\":\"1 Main St\"}"), response,
+            (req, res) -> forwardedBodies.add(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String clientIp, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/form-submissions");
+        request.setRemoteAddr(clientIp);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.repository;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-plan regression test for the /search filters and the cursor pages: runs the SQL that Hibernate generates
+ * for each common query through H2's EXPLAIN and asserts that it reads an index, not the whole table.
+ * Criteria values are inlined so the captured SQL can be explained as-is.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.repository.FormSubmissionQueryPlanTest$CapturingStatementInspector"
+})
+class FormSubmissionQueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    @Autowired
+    private FormSubmissionRepository formSubmissionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<FormSubmissionEntity> submissions = new ArrayList<>();
+        SubmissionStatus[] statuses = SubmissionStatus.values();
+        for (int i = 0; i < 500; i++) {
+            FormSubmissionEntity submission = new FormSubmissionEntity();
+            submission.setName("User " + i);
+            submission.setEmail("user" + i + "@example.com");
+            submission.setAddress(i + " Main Street");
+            submission.setPhoneNumber("555-" + i);
+            submission.setStatus(statuses[i % statuses.length]);
+            submission.setSubmittedByIpBytes(new byte[] {(byte) 203, 0, 113, (byte) (i % 50)});
+            submissions.add(submission);
+        }
+        formSubmissionRepository.saveAllAndFlush(submissions);
+    }
+
+    @Test
+    void statusFilter_UsesStatusCreatedAtIndex() {
+        assertUsesIndex("idx_form_submissions_status_created_at",
+            filters(null, null, null, SubmissionStatus.APPROVED, null, null));
+    }
+
+    @Test
+    void statusAndDateRangeFilter_UsesStatusCreatedAtIndex() {
+        assertUsesIndex("idx_form_submissions_status_created_at",
+            filters(null, null, null, SubmissionStatus.APPROVED, FROM, TO));
+    }
+
+    @Test
+    void statusAndNameFilter_UsesStatusCreatedAtIndex() {
+        assertUsesIndex("idx_form_submissions_status_created_at",
+            filters("user 1", null, null, SubmissionStatus.PENDING, null, null));
+    }
+
+    @Test
+    void dateRangeFilter_UsesCreatedAtIndex() {
+        assertUsesIndex("idx_form_submissions_created_at", filters(null, null, null, null, FROM, TO));
+    }
+
+    @Test
+    void emailFilter_UsesUniqueEmailIndex() {
+        assertUsesIndex("uk_form_submissions_email", filters(null, "user7@example.com", null, null, null, null));
+    }
+
+    @Test
+    void phoneNumberFilter_UsesPhoneNumberIndex() {
+        assertUsesIndex("idx_form_submissions_phone_number", filters(null, null, "555-7", null, null, null));
+    }
+
+    @Test
+    void newestPageAfterCursor_ReadsCreatedAtIndexInPageOrder() {
+        CapturingStatementInspector.lastSelect = null;
+        formSubmissionRepository.findNewestBefore(TO, 100L, PageRequest.of(0, 21));
+
+        String plan = explain(CapturingStatementInspector.lastSelect, timestamp(TO), timestamp(TO), "100", "0", "21");
+        assertIndexSorted("idx_form_submissions_created_at", plan);
+    }
+
+    @Test
+    void newestPageByStatusAfterCursor_ReadsStatusCreatedAtIndexInPageOrder() {
+        CapturingStatementInspector.lastSelect = null;
+        formSubmissionRepository.findNewestByStatusBefore(SubmissionStatus.APPROVED, TO, 100L, PageRequest.of(0, 21));
+
+        String plan = explain(CapturingStatementInspector.lastSelect, "'APPROVED'", timestamp(TO), timestamp(TO), "100", "0", "21");
+        assertIndexSorted("idx_form_submissions_status_created_at", plan);
+    }
+
+    @Test
+    void submissionsByIp_ReadIpIndexInPageOrder() {
+        CapturingStatementInspector.lastSelect = null;
+        formSubmissionRepository.findBySubmittedByIp(new byte[] {(byte) 203, 0, 113, 7}, PageRequest.of(0, 20));
+
+        String plan = explain(CapturingStatementInspector.lastSelect, "X'cb007107'", "0", "20");
+        assertIndexSorted("idx_form_submissions_ip", plan);
+    }
+
+    private static Specification<FormSubmissionEntity> filters(String name, String email, String phoneNumber,
+                                                              SubmissionStatus status,
+                                                              LocalDateTime fromDate, LocalDateTime toDate) {
+        return FormSubmissionSpecifications.withFilters(name, email, null, phoneNumber, status, fromDate, toDate);
+    }
+
+    private void assertUsesIndex(String indexName, Specification<FormSubmissionEntity> specification) {
+        CapturingStatementInspector.lastSelect = null;
+        formSubmissionRepository.findAll(specification, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        String sql = CapturingStatementInspector.lastSelect;
+
+        String plan = explain(sql);
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(indexName), () -> "expected " + indexName + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> "unexpected table scan in plan:\n" + plan);
+    }
+
+    // Keyset pages must also be read in index order, so only the rows of the page are visited
+    private void assertIndexSorted(String indexName, String plan) {
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(indexName), () -> "expected " + indexName + " in plan:\n" + plan);
+        assertTrue(plan.contains("index sorted"), () -> "expected index sorted rows in plan:\n" + plan);
+    }
+
+    // JPQL parameters stay bound, so they are replaced by the given literals in order
+    private String explain(String sql, String... literals) {
+        assertNotNull(sql, "no SELECT was captured");
+        String explained = sql;
+        for (String literal : literals) {
+            explained = explained.replaceFirst("\\?", literal);
+        }
+        return entityManager.createNativeQuery("EXPLAIN " + explained).getSingleResult().toString();
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return "TIMESTAMP '" + Timestamp.valueOf(value) + "'";
+    }
+
+    // Registered with Hibernate by class name, so the captured SQL is kept in a static field
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static volatile String lastSelect;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select") && sql.contains("form_submissions")) {
+                lastSelect = sql;
+            }
+            return sql;
+        }
+    }
+}
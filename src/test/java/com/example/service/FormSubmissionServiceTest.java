@@ -3,17 +3,41 @@ package com.example.service;
 import com.example.entity.FormSubmissionEntity;
 import com.example.entity.FormSubmissionEntity.SubmissionStatus;
 import com.example.repository.FormSubmissionRepository;
+import com.example.repository.FormSubmissionRepository.IdStatus;
+import com.example.service.FormSubmissionService.BatchItemResult;
+import com.example.service.FormSubmissionService.CursorPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,7 +47,34 @@ class FormSubmissionServiceTest {
     private FormSubmissionRepository formSubmissionRepository;
     
     @Mock
-    private GoogleSheetsService googleSheetsService;
+    private SheetsOutboxService sheetsOutboxService;
+    
+    @Mock
+    private SheetsSyncService sheetsSyncService;
+    
+    @Mock
+    private SubmissionStatsCounter submissionStatsCounter;
+    
+    @Mock
+    private SubmissionsVersionCounter submissionsVersionCounter;
+    
+    @Mock
+    private SubmissionSearchService submissionSearchService;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Spy
+    private KnownEmailCache knownEmailCache = new KnownEmailCache(100);
+    
+    @Spy
+    private SubmissionCache submissionCache = new SubmissionCache(true, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private FormSubmissionService formSubmissionService;
@@ -45,9 +96,7 @@ class FormSubmissionServiceTest {
     @Test
     void createSubmission_Success() {
         // Given
-        when(formSubmissionRepository.existsByEmail(testSubmission.getEmail())).thenReturn(false);
-        when(formSubmissionRepository.save(any(FormSubmissionEntity.class))).thenReturn(testSubmission);
-        doNothing().when(googleSheetsService).writeSubmissionToSheet(any(FormSubmissionEntity.class));
+        when(formSubmissionRepository.saveAndFlush(any(FormSubmissionEntity.class))).thenReturn(testSubmission);
 
         // When
         FormSubmissionEntity result = formSubmissionService.createSubmission(testSubmission);
@@ -58,15 +107,19 @@ class FormSubmissionServiceTest {
         assertEquals("john.doe@example.com", result.getEmail());
         assertEquals(SubmissionStatus.PENDING, result.getStatus());
         
-        verify(formSubmissionRepository, times(1)).existsByEmail(testSubmission.getEmail());
-        verify(formSubmissionRepository, times(1)).save(testSubmission);
-        verify(googleSheetsService, times(1)).writeSubmissionToSheet(testSubmission);
+        verify(formSubmissionRepository, times(1)).saveAndFlush(testSubmission);
+        verifyNoMoreInteractions(formSubmissionRepository);
+        verify(sheetsOutboxService, times(1)).enqueueAppend(testSubmission);
+        verify(submissionStatsCounter, times(1)).recordCreated(SubmissionStatus.PENDING);
+        verify(submissionSearchService, times(1)).indexAfterCommit(List.of(testSubmission));
+        assertTrue(knownEmailCache.contains("john.doe@example.com"));
     }
 
     @Test
     void createSubmission_EmailAlreadyExists_ThrowsException() {
         // Given
-        when(formSubmissionRepository.existsByEmail(testSubmission.getEmail())).thenReturn(true);
+        when(formSubmissionRepository.saveAndFlush(any(FormSubmissionEntity.class)))
+            .thenThrow(emailConflict());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -75,8 +128,37 @@ class FormSubmissionServiceTest {
         );
         
         assertEquals("Email already exists: john.doe@example.com", exception.getMessage());
-        verify(formSubmissionRepository, never()).save(any());
-        verify(googleSheetsService, never()).writeSubmissionToSheet(any());
+        verify(sheetsOutboxService, never()).enqueueAppend(any());
+        verify(submissionStatsCounter, never()).recordCreated(any());
+    }
+
+    @Test
+    void createSubmission_RepeatedSubmitter_RejectedWithoutDatabaseCall() {
+        // Given
+        knownEmailCache.add(List.of("john.doe@example.com"));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> formSubmissionService.createSubmission(testSubmission)
+        );
+
+        assertEquals("Email already exists: john.doe@example.com", exception.getMessage());
+        verifyNoInteractions(formSubmissionRepository);
+        assertEquals(1, meterRegistry.get("submissions.rejected").tag("source", "single").counter().count());
+    }
+
+    @Test
+    void createSubmission_OtherIntegrityViolation_Propagates() {
+        // Given
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("NULL not allowed", new SQLException(), "name"));
+        when(formSubmissionRepository.saveAndFlush(any(FormSubmissionEntity.class))).thenThrow(notNull);
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+            () -> formSubmissionService.createSubmission(testSubmission));
+        assertFalse(knownEmailCache.contains("john.doe@example.com"));
     }
 
     @Test
@@ -92,6 +174,24 @@ class FormSubmissionServiceTest {
         assertEquals(testSubmission, result.get());
     }
 
+    @Test
+    void getSubmissionById_RepeatedReadServedFromCacheUntilStatusUpdate() {
+        // Given
+        when(formSubmissionRepository.findById(1L)).thenReturn(Optional.of(testSubmission));
+        when(formSubmissionRepository.save(any(FormSubmissionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        formSubmissionService.getSubmissionById(1L).get().setName("Changed by caller");
+        Optional<FormSubmissionEntity> cached = formSubmissionService.getSubmissionById(1L);
+        formSubmissionService.updateSubmissionStatus(1L, SubmissionStatus.APPROVED);
+        Optional<FormSubmissionEntity> afterUpdate = formSubmissionService.getSubmissionById(1L);
+
+        // Then: one load before the update (which reads the row itself) and one after it
+        verify(formSubmissionRepository, times(3)).findById(1L);
+        assertEquals("John Doe", cached.get().getName());
+        assertEquals(SubmissionStatus.APPROVED, afterUpdate.get().getStatus());
+    }
+
     @Test
     void getSubmissionById_NotFound() {
         // Given
@@ -109,7 +209,6 @@ class FormSubmissionServiceTest {
         // Given
         when(formSubmissionRepository.findById(1L)).thenReturn(Optional.of(testSubmission));
         when(formSubmissionRepository.save(any(FormSubmissionEntity.class))).thenReturn(testSubmission);
-        doNothing().when(googleSheetsService).updateSubmissionStatus(anyLong(), anyString());
 
         // When
         FormSubmissionEntity result = formSubmissionService.updateSubmissionStatus(1L, SubmissionStatus.APPROVED);
@@ -117,7 +216,8 @@ class FormSubmissionServiceTest {
         // Then
         assertEquals(SubmissionStatus.APPROVED, result.getStatus());
         verify(formSubmissionRepository, times(1)).save(testSubmission);
-        verify(googleSheetsService, times(1)).updateSubmissionStatus(1L, "APPROVED");
+        verify(sheetsOutboxService, times(1)).enqueueStatusUpdate(1L, SubmissionStatus.APPROVED);
+        verify(submissionStatsCounter, times(1)).recordStatusChanged(SubmissionStatus.PENDING, SubmissionStatus.APPROVED);
     }
 
     @Test
@@ -137,19 +237,22 @@ class FormSubmissionServiceTest {
     @Test
     void deleteSubmission_Success() {
         // Given
-        when(formSubmissionRepository.existsById(1L)).thenReturn(true);
+        when(formSubmissionRepository.findById(1L)).thenReturn(Optional.of(testSubmission));
 
         // When
         formSubmissionService.deleteSubmission(1L);
 
         // Then
-        verify(formSubmissionRepository, times(1)).deleteById(1L);
+        verify(formSubmissionRepository, times(1)).delete(testSubmission);
+        verify(submissionStatsCounter, times(1)).recordDeleted(SubmissionStatus.PENDING);
+        verify(knownEmailCache, times(1)).removeAfterCommit("john.doe@example.com");
+        verify(submissionSearchService, times(1)).removeAfterCommit(1L);
     }
 
     @Test
     void deleteSubmission_NotFound_ThrowsException() {
         // Given
-        when(formSubmissionRepository.existsById(1L)).thenReturn(false);
+        when(formSubmissionRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -159,4 +262,228 @@ class FormSubmissionServiceTest {
         
         assertEquals("Submission not found with id: 1", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void createSubmissions_RejectsExistingAndInBatchDuplicateEmails() {
+        // Given
+        FormSubmissionEntity existing = submission("taken@example.com");
+        FormSubmissionEntity first = submission("new@example.com");
+        FormSubmissionEntity duplicate = submission("new@example.com");
+        when(formSubmissionRepository.findExistingEmails(List.of("taken@example.com", "new@example.com")))
+            .thenReturn(List.of("taken@example.com"));
+        when(formSubmissionRepository.saveAll(List.of(first))).thenAnswer(invocation -> {
+            first.setId(7L);
+            return List.of(first);
+        });
+
+        // When
+        List<BatchItemResult> results = formSubmissionService.createSubmissions(List.of(existing, first, duplicate));
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals("Email already exists: taken@example.com", results.get(0).error());
+        assertTrue(results.get(1).isCreated());
+        assertEquals(SubmissionStatus.PENDING, results.get(1).submission().getStatus());
+        assertEquals("Email already exists: new@example.com", results.get(2).error());
+        verify(formSubmissionRepository, times(1)).flush();
+        verify(sheetsOutboxService, times(1)).enqueueBulkAppend(List.of(7L));
+        verify(sheetsOutboxService, never()).enqueueAppend(any());
+        assertEquals(2, meterRegistry.get("submissions.rejected").tag("reason", "duplicate-email").tag("source", "batch")
+            .counter().count());
+    }
+
+    @Test
+    void createSubmissions_EmailInsertedConcurrently_RetriesWithoutTheConflictingItem() {
+        // Given: "raced@example.com" is committed by another request between the pre-check and the flush
+        FormSubmissionEntity raced = submission("raced@example.com");
+        FormSubmissionEntity other = submission("other@example.com");
+        when(formSubmissionRepository.findExistingEmails(List.of("raced@example.com", "other@example.com")))
+            .thenReturn(List.of(), List.of("raced@example.com"));
+        when(formSubmissionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<FormSubmissionEntity> saved = invocation.getArgument(0);
+            saved.forEach(submission -> submission.setId(submission == raced ? 8L : 9L));
+            return saved;
+        });
+        doThrow(emailConflict()).doNothing().when(formSubmissionRepository).flush();
+
+        // When
+        List<BatchItemResult> results = formSubmissionService.createSubmissions(List.of(raced, other));
+
+        // Then
+        assertEquals("Email already exists: raced@example.com", results.get(0).error());
+        assertTrue(results.get(1).isCreated());
+        verify(formSubmissionRepository).saveAll(List.of(other));
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(sheetsOutboxService, times(1)).enqueueBulkAppend(List.of(9L));
+        assertEquals(1, meterRegistry.get("submissions.rejected").tag("source", "batch").counter().count());
+    }
+
+    @Test
+    void createSubmissions_OtherIntegrityViolation_PropagatesWithoutRetry() {
+        // Given
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("NULL not allowed", new SQLException(), "name"));
+        doThrow(notNull).when(formSubmissionRepository).flush();
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+            () -> formSubmissionService.createSubmissions(List.of(submission("a@example.com"))));
+        verify(formSubmissionRepository, times(1)).flush();
+    }
+
+    @Test
+    void bulkUpdateStatus_UpdatesInChunksWithoutLoadingEntities() {
+        // Given
+        ReflectionTestUtils.setField(formSubmissionService, "bulkUpdateChunkSize", 2);
+        when(formSubmissionRepository.findIdStatusesToChange(List.of(1L, 2L), SubmissionStatus.APPROVED))
+            .thenReturn(List.of(idStatus(1L, SubmissionStatus.PENDING), idStatus(2L, SubmissionStatus.REJECTED)));
+        when(formSubmissionRepository.findIdStatusesToChange(List.of(3L), SubmissionStatus.APPROVED))
+            .thenReturn(List.of());
+        when(formSubmissionRepository.updateStatusByIds(eq(List.of(1L, 2L)), eq(SubmissionStatus.APPROVED), any()))
+            .thenReturn(2);
+
+        // When
+        int updated = formSubmissionService.bulkUpdateStatus(List.of(1L, 2L, 2L, 3L), SubmissionStatus.APPROVED);
+
+        // Then
+        assertEquals(2, updated);
+        verify(formSubmissionRepository, never()).findAllById(any());
+        verify(formSubmissionRepository, never()).saveAll(any());
+        verify(submissionStatsCounter, times(1)).recordStatusChanges(
+            Map.of(SubmissionStatus.PENDING, 1L, SubmissionStatus.REJECTED, 1L), SubmissionStatus.APPROVED);
+        verify(sheetsOutboxService, times(1)).enqueueBulkStatusUpdate(List.of(1L, 2L), SubmissionStatus.APPROVED);
+    }
+
+    @Test
+    void getSubmissionsPage_FirstPageReturnsCursorOfLastRowWithoutCounting() {
+        // Given
+        ReflectionTestUtils.setField(formSubmissionService, "maxPageSize", 100);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_000);
+        when(formSubmissionRepository.findNewestByStatus(eq(SubmissionStatus.PENDING), any(Pageable.class)))
+            .thenReturn(List.of(submissionAt(3L, createdAt), submissionAt(2L, createdAt), submissionAt(1L, createdAt)));
+
+        // When
+        CursorPage page = formSubmissionService.getSubmissionsPage(SubmissionStatus.PENDING, null, 2, false);
+
+        // Then
+        assertEquals(List.of(3L, 2L), page.submissions().stream().map(FormSubmissionEntity::getId).toList());
+        assertTrue(page.hasNext());
+        assertEquals(new SubmissionCursor(createdAt, 2L), SubmissionCursor.decode(page.nextCursor()));
+        assertNull(page.totalCount());
+        verify(formSubmissionRepository).findNewestByStatus(SubmissionStatus.PENDING, PageRequest.of(0, 3));
+        verify(formSubmissionRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    void getSubmissionsPage_ContinuesAfterCursorAndEndsOnLastPage() {
+        // Given
+        ReflectionTestUtils.setField(formSubmissionService, "maxPageSize", 100);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        String cursor = new SubmissionCursor(createdAt, 2L).encode();
+        when(formSubmissionRepository.findNewestBefore(createdAt, 2L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(submissionAt(1L, createdAt)));
+        when(formSubmissionRepository.count()).thenReturn(3L);
+
+        // When
+        CursorPage page = formSubmissionService.getSubmissionsPage(null, cursor, 2, true);
+
+        // Then
+        assertEquals(List.of(1L), page.submissions().stream().map(FormSubmissionEntity::getId).toList());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+        assertEquals(3L, page.totalCount());
+    }
+
+    @Test
+    void getSubmissionsPage_InvalidCursorOrSize_ThrowsException() {
+        ReflectionTestUtils.setField(formSubmissionService, "maxPageSize", 100);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> formSubmissionService.getSubmissionsPage(null, "not-a-cursor", 20, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> formSubmissionService.getSubmissionsPage(null, null, 101, false));
+        verifyNoInteractions(formSubmissionRepository);
+    }
+
+    @Test
+    void findSubmissionsByIp_LooksUpTheBinaryAddress() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        when(formSubmissionRepository.findBySubmittedByIp(any(byte[].class), eq(pageable)))
+            .thenReturn(List.of(testSubmission));
+
+        // When
+        List<FormSubmissionEntity> result = formSubmissionService.findSubmissionsByIp("::ffff:192.0.2.1", pageable);
+
+        // Then the IPv4-mapped spelling matches the stored IPv4 address
+        assertEquals(List.of(testSubmission), result);
+        verify(formSubmissionRepository).findBySubmittedByIp(aryEq(new byte[] {(byte) 192, 0, 2, 1}), eq(pageable));
+        assertThrows(IllegalArgumentException.class,
+            () -> formSubmissionService.findSubmissionsByIp("not-an-ip", pageable));
+    }
+
+    @Test
+    void forEachSubmissionBetweenDates_DetachesEachRowAndClosesStream() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 5, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        FormSubmissionEntity first = submissionAt(2L, to);
+        FormSubmissionEntity second = submissionAt(1L, from);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(formSubmissionRepository.streamSubmissionsBetweenDates(from, to))
+            .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        List<Long> consumed = new ArrayList<>();
+
+        // When
+        long count = formSubmissionService.forEachSubmissionBetweenDates(from, to, submission -> {
+            // The previous row is already out of the persistence context when the next one arrives
+            if (submission == second) {
+                verify(entityManager).detach(first);
+            }
+            consumed.add(submission.getId());
+        });
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(List.of(2L, 1L), consumed);
+        verify(entityManager).detach(second);
+        assertTrue(closed.get());
+    }
+
+    private FormSubmissionEntity submissionAt(Long id, LocalDateTime createdAt) {
+        FormSubmissionEntity submission = submission("user" + id + "@example.com");
+        submission.setId(id);
+        submission.setCreatedAt(createdAt);
+        return submission;
+    }
+
+    private DataIntegrityViolationException emailConflict() {
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("Unique index or primary key violation", new SQLException(),
+                "PUBLIC.UK_FORM_SUBMISSIONS_EMAIL_INDEX_1 ON PUBLIC.FORM_SUBMISSIONS(EMAIL)"));
+    }
+
+    private FormSubmissionEntity submission(String email) {
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setName("Batch User");
+        submission.setEmail(email);
+        submission.setAddress("1 Batch Street");
+        submission.setStatus(null);
+        return submission;
+    }
+
+    private IdStatus idStatus(Long id, SubmissionStatus status) {
+        return new IdStatus() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public SubmissionStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.service.GoogleSheetsEndpoint.SheetsSyncReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * /actuator/google-sheets and the meters recorded on the ingest-to-sheet path
+ */
+@SpringBootTest(properties = {
+    "google.sheets.sink=memory",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.com.example=WARN"
+})
+class GoogleSheetsEndpointTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private FormSubmissionService formSubmissionService;
+
+    @Autowired
+    private GoogleSheetsEndpoint googleSheetsEndpoint;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void report_AfterADelivery_ReportsLastSuccessAndOutboxBacklog() throws Exception {
+        // Given: a submission delivered by the background dispatcher
+        // (other tests share this context, so the outbox is not necessarily empty)
+        LocalDateTime before = LocalDateTime.now();
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setName("Endpoint User");
+        submission.setEmail("endpoint@example.com");
+        submission.setAddress("1 Endpoint Street");
+        formSubmissionService.createSubmission(submission);
+
+        SheetsSyncReport report = googleSheetsEndpoint.report();
+        for (int i = 0; i < 100 && (report.lastSuccessAt() == null || report.lastSuccessAt().isBefore(before)); i++) {
+            Thread.sleep(100);
+            report = googleSheetsEndpoint.report();
+        }
+
+        // Then
+        assertFalse(report.lastSuccessAt().isBefore(before));
+        assertEquals(report.outbox().pending() > 0, report.outbox().oldestPendingAt() != null);
+        assertTrue(meterRegistry.get("sheets.outbox.pending").gauge().value() >= 0);
+        assertTrue(meterRegistry.get("sheets.outbox.delivered").tag("operation", "APPEND").counter().count() > 0);
+        assertTrue(meterRegistry.get("sheets.requests").tag("operation", "append").tag("outcome", "success")
+            .timer().count() > 0);
+        assertTrue(meterRegistry.get("spring.data.repository.invocations")
+            .tag("repository", "FormSubmissionRepository").tag("method", "saveAndFlush").timer().count() > 0);
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        mockMvc.perform(get("/actuator/google-sheets"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.syncLagSeconds").isNumber())
+            .andExpect(jsonPath("$.lastSuccessAt").isNotEmpty())
+            .andExpect(jsonPath("$.outbox.pending").isNumber())
+            .andExpect(jsonPath("$.deltaSync.enabled").value(false));
+    }
+}
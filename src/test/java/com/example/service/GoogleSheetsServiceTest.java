@@ -0,0 +1,243 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import com.example.service.sheets.InMemorySheetSink;
+import com.example.service.sheets.SheetRowIndex;
+import com.example.service.sheets.SheetSink;
+import com.example.service.sheets.SheetsRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleSheetsServiceTest {
+
+    @Mock
+    private SheetSink sheetSink;
+
+    @TempDir
+    private Path tempDir;
+
+    private SheetRowIndex rowIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GoogleSheetsService googleSheetsService;
+
+    @BeforeEach
+    void setUp() {
+        rowIndex = new SheetRowIndex(tempDir.resolve("row-index.bin").toString(), "spreadsheet", "Sheet1");
+        meterRegistry = new SimpleMeterRegistry();
+        googleSheetsService = new GoogleSheetsService(sheetSink, new SheetsRateLimiter(60_000, 100), rowIndex, meterRegistry);
+        ReflectionTestUtils.setField(googleSheetsService, "batchSize", 3);
+    }
+
+    @Test
+    void writeBatchSubmissionsToSheet_SendsOneAppendPerChunk() {
+        // Given
+        List<FormSubmissionEntity> submissions = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            submissions.add(submission(id));
+        }
+        when(sheetSink.appendRows(any())).thenReturn(0, 3, 6);
+
+        // When
+        googleSheetsService.writeBatchSubmissionsToSheet(submissions);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<List<String>>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(sheetSink, times(3)).appendRows(chunks.capture());
+        assertEquals(List.of(3, 3, 1), chunks.getAllValues().stream().map(List::size).toList());
+        assertEquals("7", chunks.getAllValues().get(2).get(0).get(0));
+        assertEquals(6, rowIndex.rowIndexOf(7L));
+        assertEquals(3, meterRegistry.get("sheets.requests").tags("operation", "append", "outcome", "success").timer().count());
+        assertEquals(7, meterRegistry.get("sheets.request.rows").tag("operation", "append").summary().totalAmount());
+    }
+
+    @Test
+    void writeBatchSubmissionsToSheet_SinkFails_Propagates() {
+        // Given
+        doThrow(new IllegalStateException("quota exceeded")).when(sheetSink).appendRows(any());
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+            () -> googleSheetsService.writeBatchSubmissionsToSheet(List.of(submission(1L))));
+        assertEquals(1, meterRegistry.get("sheets.requests").tags("operation", "append", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    void upsertSubmissionsToSheet_UpdatesExistingRowsInContiguousRangesAndAppendsNewOnes() {
+        // Given
+        when(sheetSink.readRowKeys()).thenReturn(List.of("1", "2", "3", "4", "5"));
+        when(sheetSink.appendRows(any())).thenReturn(5);
+
+        // When
+        googleSheetsService.upsertSubmissionsToSheet(
+            List.of(submission(2L), submission(3L), submission(5L), submission(9L)));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<List<String>>> ranges = ArgumentCaptor.forClass(List.class);
+        verify(sheetSink, times(1)).readRowKeys();
+        verify(sheetSink).updateRows(eq(1), ranges.capture());
+        verify(sheetSink).updateRows(eq(4), ranges.capture());
+        assertEquals(List.of("2", "3"), ranges.getAllValues().get(0).stream().map(row -> row.get(0)).toList());
+        assertEquals(List.of("5"), ranges.getAllValues().get(1).stream().map(row -> row.get(0)).toList());
+        verify(sheetSink).appendRows(argThat(rows -> rows.size() == 1 && rows.get(0).get(0).equals("9")));
+    }
+
+    @Test
+    void updateSubmissionStatuses_UsesRowIndexAndOneBatchedWrite() {
+        // Given
+        when(sheetSink.readRowKeys()).thenReturn(List.of("1", "2", "3", "4", "5"));
+
+        // When
+        Set<Long> missing = googleSheetsService.updateSubmissionStatuses(
+            Map.of(1L, "APPROVED", 2L, "APPROVED", 4L, "REJECTED", 9L, "APPROVED"));
+        googleSheetsService.updateSubmissionStatus(5L, "REJECTED");
+
+        // Then
+        assertEquals(Set.of(9L), missing);
+        verify(sheetSink, times(1)).readRowKeys();
+        verify(sheetSink).updateColumnRanges(GoogleSheetsService.STATUS_COLUMN,
+            new TreeMap<>(Map.of(0, List.of("APPROVED", "APPROVED"), 3, List.of("REJECTED"))));
+        verify(sheetSink).updateColumnRanges(GoogleSheetsService.STATUS_COLUMN,
+            new TreeMap<>(Map.of(4, List.of("REJECTED"))));
+    }
+
+    @Test
+    void updateSubmissionStatus_IndexPersisted_RestartDoesNotRescanSheet() {
+        // Given
+        when(sheetSink.readRowKeys()).thenReturn(List.of("1", "2"));
+        googleSheetsService.updateSubmissionStatus(2L, "APPROVED");
+        rowIndex.flush();
+
+        SheetRowIndex restartedIndex = new SheetRowIndex(
+            tempDir.resolve("row-index.bin").toString(), "spreadsheet", "Sheet1");
+        GoogleSheetsService restarted = new GoogleSheetsService(
+            sheetSink, new SheetsRateLimiter(60_000, 100), restartedIndex, new SimpleMeterRegistry());
+        when(sheetSink.rowCount()).thenReturn(2);
+
+        // When
+        restarted.updateSubmissionStatus(2L, "REJECTED");
+
+        // Then
+        verify(sheetSink, times(1)).readRowKeys();
+        verify(sheetSink).updateColumnRanges(GoogleSheetsService.STATUS_COLUMN, new TreeMap<>(Map.of(1, List.of("REJECTED"))));
+    }
+
+    @Test
+    void updateSubmissionStatus_IndexFileBehindTheSheet_RebuildsFromTheSheet() {
+        // Given: the index was last flushed before row 3 was appended, then the process crashed
+        when(sheetSink.readRowKeys()).thenReturn(List.of("1", "2"), List.of("1", "2", "3"));
+        googleSheetsService.updateSubmissionStatus(2L, "APPROVED");
+        rowIndex.flush();
+
+        SheetRowIndex restartedIndex = new SheetRowIndex(
+            tempDir.resolve("row-index.bin").toString(), "spreadsheet", "Sheet1");
+        GoogleSheetsService restarted = new GoogleSheetsService(
+            sheetSink, new SheetsRateLimiter(60_000, 100), restartedIndex, new SimpleMeterRegistry());
+        when(sheetSink.rowCount()).thenReturn(3);
+
+        // When
+        restarted.updateSubmissionStatus(3L, "REJECTED");
+
+        // Then
+        verify(sheetSink, times(2)).readRowKeys();
+        verify(sheetSink).updateColumnRanges(GoogleSheetsService.STATUS_COLUMN, new TreeMap<>(Map.of(2, List.of("REJECTED"))));
+    }
+
+    @Test
+    void writeBatchSubmissionsToSheet_AppendLandsAfterUnknownRows_RebuildsTheIndex() {
+        // Given: someone else appended a row the index has not seen
+        when(sheetSink.readRowKeys()).thenReturn(List.of("1"), List.of("1", "x", "2"));
+        googleSheetsService.updateSubmissionStatus(1L, "APPROVED");
+        when(sheetSink.appendRows(any())).thenReturn(2);
+
+        // When
+        googleSheetsService.writeBatchSubmissionsToSheet(List.of(submission(2L)));
+
+        // Then
+        assertEquals(2, rowIndex.rowIndexOf(2L));
+        assertEquals(3, rowIndex.rowCount());
+    }
+
+    @Test
+    void upsertSubmissionsToSheet_ConcurrentWriters_AppendTheSubmissionOnce() throws Exception {
+        // Given: a sink slow enough for an outbox delivery and a delta sync to overlap
+        InMemorySheetSink slowSink = new InMemorySheetSink() {
+            @Override
+            public int appendRows(List<List<String>> newRows) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.appendRows(newRows);
+            }
+        };
+        GoogleSheetsService service = new GoogleSheetsService(
+            slowSink, new SheetsRateLimiter(60_000, 100), new SheetRowIndex(null, "spreadsheet", "Sheet1"), meterRegistry);
+        ReflectionTestUtils.setField(service, "batchSize", 3);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            Future<?> outbox = executor.submit(() -> service.upsertSubmissionsToSheet(List.of(submission(1L))));
+            Future<?> deltaSync = executor.submit(() -> service.upsertSubmissionsToSheet(List.of(submission(1L))));
+            outbox.get();
+            deltaSync.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(1, slowSink.getRows().size());
+        assertEquals(0, service.updateSubmissionStatuses(Map.of(1L, "APPROVED")).size());
+    }
+
+    @Test
+    void updateSubmissionStatus_NotInSheet_Throws() {
+        // Given
+        when(sheetSink.readRowKeys()).thenReturn(List.of("1"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> googleSheetsService.updateSubmissionStatus(2L, "APPROVED"));
+        verify(sheetSink, never()).updateColumnRanges(anyInt(), any());
+    }
+
+    private FormSubmissionEntity submission(Long id) {
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setId(id);
+        submission.setName("Name " + id);
+        submission.setEmail("user" + id + "@example.com");
+        submission.setAddress("Address " + id);
+        submission.setStatus(SubmissionStatus.PENDING);
+        return submission;
+    }
+}
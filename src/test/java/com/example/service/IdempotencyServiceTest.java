@@ -0,0 +1,178 @@
+package com.example.service;
+
+import com.example.dto.FormSubmissionRequestDto;
+import com.example.dto.FormSubmissionResponseDto;
+import com.example.entity.IdempotencyKeyEntity;
+import com.example.repository.IdempotencyKeyRepository;
+import com.example.service.IdempotencyService.IdempotencyKeyReusedException;
+import com.example.service.IdempotencyService.Result;
+import com.example.service.IdempotencyService.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final IdempotencyService service = service(false, Duration.ofSeconds(5));
+
+    @Test
+    void execute_ReplaysTheFirstResponseWithoutRunningTheRequestAgain() {
+        // When
+        Result first = service.execute("key-1", request("a@example.com"), () -> created(1L));
+        Result retry = service.execute("key-1", request("a@example.com"), () -> created(2L));
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(201, retry.response().status());
+        assertEquals(1L, retry.response().body().getId());
+        assertEquals(1, executions.get());
+        assertEquals(1.0, meterRegistry.counter("submissions.idempotency", "outcome", "replayed").count());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void execute_ConcurrentRequestsWithTheSameKeyWaitForTheFirst() throws Exception {
+        // Given: the first request is still running
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Result> first = executor.submit(() -> service.execute("key-2", request("b@example.com"), () -> {
+                started.countDown();
+                await(release);
+                return created(7L);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When
+            Future<Result> second = executor.submit(() ->
+                service.execute("key-2", request("b@example.com"), () -> created(8L)));
+            Thread.sleep(50);
+            assertFalse(second.isDone(), "the duplicate waits for the first request");
+            release.countDown();
+
+            // Then
+            assertEquals(7L, first.get(5, TimeUnit.SECONDS).response().body().getId());
+            Result coalesced = second.get(5, TimeUnit.SECONDS);
+            assertTrue(coalesced.replayed());
+            assertEquals(7L, coalesced.response().body().getId());
+            assertEquals(1, executions.get());
+            assertEquals(1.0, meterRegistry.counter("submissions.idempotency", "outcome", "coalesced").count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_RefusesAKeyReusedForADifferentRequest() {
+        // Given
+        service.execute("key-3", request("c@example.com"), () -> created(3L));
+
+        // When / Then
+        assertThrows(IdempotencyKeyReusedException.class,
+            () -> service.execute("key-3", request("other@example.com"), () -> created(4L)));
+        assertEquals(1, executions.get());
+        assertEquals(1.0, meterRegistry.counter("submissions.idempotency", "outcome", "mismatch").count());
+    }
+
+    @Test
+    void execute_DoesNotKeepServerErrorsOrFailures() {
+        // Given
+        service.execute("key-4", request("d@example.com"), () -> StoredResponse.of(500, null));
+        assertThrows(IllegalStateException.class, () -> service.execute("key-5", request("e@example.com"), () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        // When
+        Result retried = service.execute("key-4", request("d@example.com"), () -> created(5L));
+        Result recovered = service.execute("key-5", request("e@example.com"), () -> created(6L));
+
+        // Then
+        assertFalse(retried.replayed());
+        assertEquals(201, retried.response().status());
+        assertFalse(recovered.replayed());
+        assertEquals(6L, recovered.response().body().getId());
+    }
+
+    @Test
+    void execute_RejectsInvalidKeys() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> service.execute(" ", request("f@example.com"), () -> created(9L)));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.execute("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), request("f@example.com"), () -> created(9L)));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_ReplaysPersistedResponsesAfterARestart() {
+        // Given: the response was stored by an earlier instance
+        IdempotencyService before = service(true, Duration.ofSeconds(5));
+        before.execute("key-6", request("g@example.com"), () -> created(10L));
+        IdempotencyKeyEntity stored = captureSaved();
+        when(repository.findById("key-6")).thenReturn(Optional.of(stored));
+
+        // When
+        Result replayed = service(true, Duration.ofSeconds(5))
+            .execute("key-6", request("g@example.com"), () -> created(11L));
+
+        // Then
+        assertTrue(replayed.replayed());
+        assertEquals(201, replayed.response().status());
+        assertEquals(10L, replayed.response().body().getId());
+        assertEquals("user10@example.com", replayed.response().body().getEmail());
+        assertEquals(1, executions.get());
+    }
+
+    private IdempotencyService service(boolean persistenceEnabled, Duration inFlightTimeout) {
+        return new IdempotencyService(repository, objectMapper, meterRegistry, persistenceEnabled,
+            Duration.ofHours(24), 1000, inFlightTimeout);
+    }
+
+    private IdempotencyKeyEntity captureSaved() {
+        ArgumentCaptor<IdempotencyKeyEntity> saved = ArgumentCaptor.forClass(IdempotencyKeyEntity.class);
+        verify(repository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private StoredResponse created(Long id) {
+        executions.incrementAndGet();
+        FormSubmissionResponseDto body = new FormSubmissionResponseDto();
+        body.setId(id);
+        body.setEmail("user" + id + "@example.com");
+        return StoredResponse.of(201, body);
+    }
+
+    private static FormSubmissionRequestDto request(String email) {
+        FormSubmissionRequestDto request = new FormSubmissionRequestDto();
+        request.setName("Idempotent User");
+        request.setEmail(email);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.service;
+
+import com.example.service.IpAddresses.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpAddressesTest {
+
+    @Test
+    void parse_AcceptsCanonicalIpv4AndRejectsAmbiguousForms() {
+        // When / Then
+        assertArrayEquals(new byte[] {(byte) 192, (byte) 168, 1, 100}, IpAddresses.parse("192.168.1.100"));
+        assertArrayEquals(new byte[] {0, 0, 0, 0}, IpAddresses.parse("0.0.0.0"));
+        assertNull(IpAddresses.parse("192.168.1"));
+        assertNull(IpAddresses.parse("192.168.1.256"));
+        assertNull(IpAddresses.parse("192.168.01.1"));
+        assertNull(IpAddresses.parse("192.168.1.1."));
+        assertNull(IpAddresses.parse("example.com"));
+        assertNull(IpAddresses.parse("unknown"));
+        assertNull(IpAddresses.parse(""));
+        assertNull(IpAddresses.parse(null));
+    }
+
+    @Test
+    void parseIpv4_ReturnsTheAddressAsUnsignedValue() {
+        // When / Then
+        assertEquals(0xc0a80164L, IpAddresses.parseIpv4("192.168.1.100", 0, 13));
+        assertEquals(0xffffffffL, IpAddresses.parseIpv4("255.255.255.255", 0, 15));
+        assertEquals(-1, IpAddresses.parseIpv4("1.2.3.4.5", 0, 9));
+        assertEquals(-1, IpAddresses.parseIpv4("1.2.3.", 0, 6));
+        assertTrue(Range.parse("192.168.0.0/16").contains(IpAddresses.parseIpv4("192.168.1.100", 0, 13)));
+        assertFalse(Range.parse("192.168.0.0/16").contains(IpAddresses.parseIpv4("192.169.1.100", 0, 13)));
+        assertTrue(Range.parse("0.0.0.0/0").contains(IpAddresses.parseIpv4("8.8.8.8", 0, 7)));
+        assertFalse(Range.parse("::/0").contains(IpAddresses.parseIpv4("8.8.8.8", 0, 7)));
+    }
+
+    @Test
+    void parse_ReadsOnlyTheGivenRange() {
+        // Given
+        String header = "198.51.100.7, 10.0.0.1";
+
+        // When / Then
+        assertEquals("10.0.0.1", IpAddresses.format(IpAddresses.parse(header, 14, header.length())));
+        assertEquals("198.51.100.7", IpAddresses.format(IpAddresses.parse(header, 0, 12)));
+    }
+
+    @Test
+    void ipv6_IsParsedIntoSixteenBytesAndFormattedCanonically() {
+        // When / Then
+        assertEquals("2001:db8::1", IpAddresses.canonical("2001:0DB8:0000:0000:0000:0000:0000:0001"));
+        assertEquals("2001:db8:0:1:1:1:1:1", IpAddresses.canonical("2001:db8::1:1:1:1:1"));
+        assertEquals("2001:0:0:1::1", IpAddresses.canonical("2001:0:0:1:0:0:0:1"));
+        assertEquals("::", IpAddresses.canonical("::"));
+        assertEquals("::1", IpAddresses.canonical("0:0:0:0:0:0:0:1"));
+        assertEquals("fe80::", IpAddresses.canonical("fe80::"));
+        assertEquals("64:ff9b::c000:221", IpAddresses.canonical("64:ff9b::192.0.2.33"));
+        assertEquals(16, IpAddresses.parse("2001:db8::1").length);
+        assertNull(IpAddresses.parse("2001:db8::1::1"));
+        assertNull(IpAddresses.parse("2001:db8:1:1:1:1:1:1:1"));
+        assertNull(IpAddresses.parse("1:2:3:4:5:6:7:8::"));
+        assertNull(IpAddresses.parse("2001:db8:::1"));
+        assertNull(IpAddresses.parse("12345::1"));
+        assertNull(IpAddresses.parse(":1"));
+        assertNull(IpAddresses.parse("1:"));
+    }
+
+    @Test
+    void ipv4MappedIpv6_IsStoredAsIpv4() {
+        // When / Then
+        assertArrayEquals(IpAddresses.parse("192.0.2.1"), IpAddresses.parse("::ffff:192.0.2.1"));
+        assertArrayEquals(IpAddresses.parse("192.0.2.1"), IpAddresses.parse("::FFFF:c000:0201"));
+        assertEquals("192.0.2.1", IpAddresses.canonical("0:0:0:0:0:ffff:192.0.2.1"));
+    }
+
+    @Test
+    void range_MatchesAddressesUnderItsPrefix() {
+        // Given
+        Range privateNetwork = Range.parse("172.16.0.0/12");
+        Range uniqueLocal = Range.parse("fc00::/7");
+        Range single = Range.parse("203.0.113.9");
+
+        // When / Then
+        assertTrue(privateNetwork.contains(IpAddresses.parse("172.31.255.255")));
+        assertFalse(privateNetwork.contains(IpAddresses.parse("172.32.0.1")));
+        assertFalse(privateNetwork.contains(IpAddresses.parse("fd00::1")));
+        assertTrue(uniqueLocal.contains(IpAddresses.parse("fd12:3456::1")));
+        assertFalse(uniqueLocal.contains(IpAddresses.parse("fe80::1")));
+        assertTrue(single.contains(IpAddresses.parse("203.0.113.9")));
+        assertFalse(single.contains(IpAddresses.parse("203.0.113.8")));
+        assertThrows(IllegalArgumentException.class, () -> Range.parse("10.0.0.0/33"));
+        assertThrows(IllegalArgumentException.class, () -> Range.parse("10.0.0/8"));
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import com.example.entity.SheetsOutboxEntity;
+import com.example.entity.SheetsOutboxEntity.OutboxOperation;
+import com.example.entity.SheetsOutboxEntity.OutboxState;
+import com.example.repository.FormSubmissionRepository;
+import com.example.repository.SheetsOutboxRepository;
+import com.example.service.sheets.InMemorySheetSink;
+import com.example.service.sheets.SheetRowIndex;
+import com.example.service.sheets.SheetSink;
+import com.example.service.sheets.SheetsRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SheetsOutboxDispatcherTest {
+
+    @Mock
+    private SheetsOutboxRepository sheetsOutboxRepository;
+
+    @Mock
+    private FormSubmissionRepository formSubmissionRepository;
+
+    @Mock
+    private SheetsSyncService sheetsSyncService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemorySheetSink sheetSink;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FormSubmissionEntity testSubmission;
+
+    @BeforeEach
+    void setUp() {
+        sheetSink = new InMemorySheetSink();
+        meterRegistry = new SimpleMeterRegistry();
+
+        testSubmission = new FormSubmissionEntity();
+        testSubmission.setId(1L);
+        testSubmission.setName("John Doe");
+        testSubmission.setEmail("john.doe@example.com");
+        testSubmission.setAddress("123 Main St, New York, NY 10001");
+        testSubmission.setStatus(SubmissionStatus.PENDING);
+    }
+
+    @Test
+    void dispatchBatch_AppendAndStatusUpdate_WritesSheetAndDeletesEntries() {
+        // Given
+        SheetsOutboxEntity append = entry(10L, OutboxOperation.APPEND, null);
+        SheetsOutboxEntity statusUpdate = entry(11L, OutboxOperation.UPDATE_STATUS, SubmissionStatus.APPROVED);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(append, statusUpdate));
+        when(formSubmissionRepository.findAllById(List.of(1L))).thenReturn(List.of(testSubmission));
+
+        // When
+        int claimed = dispatcher(sheetSink).dispatchBatch();
+
+        // Then
+        assertEquals(2, claimed);
+        assertEquals(1, sheetSink.getRows().size());
+        assertEquals("1", sheetSink.getRows().get(0).get(0));
+        assertEquals("APPROVED", sheetSink.getRows().get(0).get(GoogleSheetsService.STATUS_COLUMN));
+        verify(sheetsOutboxRepository, times(1)).deleteAllInBatch(List.of(append, statusUpdate));
+        assertEquals(1, meterRegistry.get("sheets.outbox.delivered").tag("operation", "APPEND").counter().count());
+        assertEquals(1, meterRegistry.get("sheets.outbox.delivered").tag("operation", "UPDATE_STATUS").counter().count());
+    }
+
+    @Test
+    void dispatchBatch_MultipleAppends_CoalescedIntoOneSheetWrite() {
+        // Given
+        SheetSink sink = mock(SheetSink.class);
+        FormSubmissionEntity second = new FormSubmissionEntity();
+        second.setId(2L);
+        second.setStatus(SubmissionStatus.PENDING);
+        SheetsOutboxEntity firstAppend = entry(10L, OutboxOperation.APPEND, null);
+        SheetsOutboxEntity secondAppend = entry(11L, OutboxOperation.APPEND, null);
+        secondAppend.setSubmissionId(2L);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(firstAppend, secondAppend));
+        when(formSubmissionRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(second, testSubmission));
+
+        // When
+        dispatcher(sink).dispatchBatch();
+
+        // Then
+        verify(sink, times(1)).appendRows(argThat(rows ->
+            rows.size() == 2 && rows.get(0).get(0).equals("1") && rows.get(1).get(0).equals("2")));
+        verify(sheetsOutboxRepository, times(1)).deleteAllInBatch(List.of(firstAppend, secondAppend));
+    }
+
+    @Test
+    void dispatchBatch_SubmissionDeleted_DropsEntry() {
+        // Given
+        SheetsOutboxEntity append = entry(10L, OutboxOperation.APPEND, null);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(append));
+        when(formSubmissionRepository.findAllById(List.of(1L))).thenReturn(List.of());
+
+        // When
+        dispatcher(sheetSink).dispatchBatch();
+
+        // Then
+        assertTrue(sheetSink.getRows().isEmpty());
+        verify(sheetsOutboxRepository, times(1)).deleteAllInBatch(List.of(append));
+    }
+
+    @Test
+    void dispatchBatch_SinkDown_KeepsEntryAndSchedulesRetry() {
+        // Given
+        SheetSink failingSink = mock(SheetSink.class);
+        doThrow(new IllegalStateException("Sheets unavailable")).when(failingSink).appendRows(any());
+        SheetsOutboxEntity append = entry(10L, OutboxOperation.APPEND, null);
+        SheetsOutboxEntity statusUpdate = entry(11L, OutboxOperation.UPDATE_STATUS, SubmissionStatus.APPROVED);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(append, statusUpdate));
+        when(formSubmissionRepository.findAllById(List.of(1L))).thenReturn(List.of(testSubmission));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher(failingSink).dispatchBatch();
+
+        // Then
+        assertEquals(OutboxState.PENDING, append.getState());
+        assertEquals(1, append.getAttempts());
+        assertTrue(append.getNextAttemptAt().isAfter(before));
+        assertNotNull(append.getLastError());
+        // The status update for the same submission must wait for the append
+        assertEquals(0, statusUpdate.getAttempts());
+        verify(failingSink, never()).updateColumnRanges(anyInt(), any());
+        verify(sheetsOutboxRepository, times(1)).deleteAllInBatch(List.of());
+        verify(sheetsOutboxRepository).saveAll(List.of(append, statusUpdate));
+        assertFalse(statusUpdate.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(1, meterRegistry.get("sheets.outbox.retries").tag("operation", "APPEND").counter().count());
+    }
+
+    @Test
+    void dispatchBatch_WritesTheSheetBetweenTheClaimAndTheOutcomeTransactions() {
+        // Given
+        SheetSink sink = mock(SheetSink.class);
+        SheetsOutboxEntity append = entry(10L, OutboxOperation.APPEND, null);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(append));
+        when(formSubmissionRepository.findAllById(List.of(1L))).thenReturn(List.of(testSubmission));
+        LocalDateTime leaseFloor = LocalDateTime.now().plusSeconds(50);
+        when(sink.appendRows(any())).thenAnswer(invocation -> {
+            // Claimed under a lease, so no other dispatcher picks the entry up while the sheet is written
+            assertTrue(append.getNextAttemptAt().isAfter(leaseFloor));
+            return 0;
+        });
+
+        // When
+        dispatcher(sink).dispatchBatch();
+
+        // Then
+        InOrder inOrder = inOrder(transactionManager, sheetsOutboxRepository, sink);
+        inOrder.verify(sheetsOutboxRepository).findDueEntries(eq(OutboxState.PENDING), any(), any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(sink).appendRows(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(sheetsOutboxRepository).deleteAllInBatch(List.of(append));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void dispatchBatch_StatusUpdatesForSheetRows_CoalescedIntoOneRangedWrite() {
+        // Given
+        sheetSink.appendRows(List.of(row("1"), row("2"), row("3")));
+        SheetsOutboxEntity first = entry(10L, OutboxOperation.UPDATE_STATUS, SubmissionStatus.APPROVED);
+        SheetsOutboxEntity second = entry(11L, OutboxOperation.UPDATE_STATUS, SubmissionStatus.REJECTED);
+        second.setSubmissionId(2L);
+        SheetsOutboxEntity notInSheet = entry(12L, OutboxOperation.UPDATE_STATUS, SubmissionStatus.REJECTED);
+        notInSheet.setSubmissionId(9L);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(first, second, notInSheet));
+        SheetSink sink = spy(sheetSink);
+
+        // When
+        dispatcher(sink).dispatchBatch();
+
+        // Then
+        verify(sink, times(1)).updateColumnRanges(eq(GoogleSheetsService.STATUS_COLUMN), any());
+        assertEquals("APPROVED", sheetSink.getRows().get(0).get(GoogleSheetsService.STATUS_COLUMN));
+        assertEquals("REJECTED", sheetSink.getRows().get(1).get(GoogleSheetsService.STATUS_COLUMN));
+        assertEquals("PENDING", sheetSink.getRows().get(2).get(GoogleSheetsService.STATUS_COLUMN));
+        assertEquals(1, notInSheet.getAttempts());
+        verify(sheetsOutboxRepository, times(1)).deleteAllInBatch(List.of(first, second));
+    }
+
+    @Test
+    void dispatchBatch_BulkStatusUpdate_OneRangedWriteAndRetriesOnlyMissingRows() {
+        // Given
+        sheetSink.appendRows(List.of(row("1"), row("2"), row("3")));
+        SheetsOutboxEntity bulk = entry(10L, OutboxOperation.UPDATE_STATUS_BULK, SubmissionStatus.APPROVED);
+        bulk.setSubmissionId(null);
+        bulk.setSubmissionIdList(List.of(1L, 2L, 3L, 9L));
+        SheetsOutboxEntity single = entry(11L, OutboxOperation.UPDATE_STATUS, SubmissionStatus.REJECTED);
+        single.setSubmissionId(3L);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(bulk, single));
+        SheetSink sink = spy(sheetSink);
+
+        // When
+        dispatcher(sink).dispatchBatch();
+
+        // Then
+        verify(sink, times(1)).updateColumnRanges(eq(GoogleSheetsService.STATUS_COLUMN), any());
+        assertEquals("APPROVED", sheetSink.getRows().get(0).get(GoogleSheetsService.STATUS_COLUMN));
+        assertEquals("APPROVED", sheetSink.getRows().get(1).get(GoogleSheetsService.STATUS_COLUMN));
+        assertEquals("REJECTED", sheetSink.getRows().get(2).get(GoogleSheetsService.STATUS_COLUMN));
+        assertEquals(List.of(9L), bulk.getSubmissionIdList());
+        assertEquals(1, bulk.getAttempts());
+        verify(sheetsOutboxRepository, times(1)).deleteAllInBatch(List.of(single));
+    }
+
+    @Test
+    void dispatchBatch_MaxAttemptsReached_MarksFailed() {
+        // Given
+        SheetSink failingSink = mock(SheetSink.class);
+        doThrow(new IllegalStateException("Sheets unavailable")).when(failingSink).appendRows(any());
+        SheetsOutboxEntity append = entry(10L, OutboxOperation.APPEND, null);
+        append.setAttempts(2);
+        when(sheetsOutboxRepository.findDueEntries(eq(OutboxState.PENDING), any(), any()))
+            .thenReturn(List.of(append));
+        when(formSubmissionRepository.findAllById(List.of(1L))).thenReturn(List.of(testSubmission));
+
+        // When
+        dispatcher(failingSink).dispatchBatch();
+
+        // Then
+        assertEquals(OutboxState.FAILED, append.getState());
+        assertEquals(3, append.getAttempts());
+        assertEquals(1, meterRegistry.get("sheets.outbox.failures").tag("operation", "APPEND").counter().count());
+    }
+
+    @Test
+    void drain_FullSyncRunning_LeavesEntriesPending() {
+        // Given
+        when(sheetsSyncService.isFullSyncInProgress()).thenReturn(true);
+
+        // When
+        dispatcher(sheetSink).drain();
+
+        // Then
+        verifyNoInteractions(sheetsOutboxRepository, transactionManager);
+        assertTrue(sheetSink.getRows().isEmpty());
+    }
+
+    private SheetsOutboxDispatcher dispatcher(SheetSink sink) {
+        GoogleSheetsService googleSheetsService = new GoogleSheetsService(
+            sink, new SheetsRateLimiter(60_000, 100), new SheetRowIndex(null, "test", "Sheet1"), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(googleSheetsService, "batchSize", 100);
+        SheetsOutboxDispatcher dispatcher = new SheetsOutboxDispatcher(
+            sheetsOutboxRepository, formSubmissionRepository, sheetsSyncService, googleSheetsService,
+            transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 60_000L);
+        return dispatcher;
+    }
+
+    private List<String> row(String id) {
+        return List.of(id, "Name", "email@example.com", "Address", "", "", "PENDING", "", "");
+    }
+
+    private SheetsOutboxEntity entry(Long id, OutboxOperation operation, SubmissionStatus targetStatus) {
+        SheetsOutboxEntity entry = new SheetsOutboxEntity();
+        entry.setId(id);
+        entry.setOperation(operation);
+        entry.setSubmissionId(1L);
+        entry.setTargetStatus(targetStatus);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        return entry;
+    }
+}
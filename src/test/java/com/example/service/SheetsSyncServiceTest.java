@@ -0,0 +1,174 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.SheetsSyncStateEntity;
+import com.example.repository.FormSubmissionRepository;
+import com.example.repository.SheetsSyncStateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SheetsSyncServiceTest {
+
+    @Mock
+    private FormSubmissionRepository formSubmissionRepository;
+
+    @Mock
+    private SheetsSyncStateRepository sheetsSyncStateRepository;
+
+    @Mock
+    private GoogleSheetsService googleSheetsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SheetsSyncService sheetsSyncService;
+
+    @BeforeEach
+    void setUp() {
+        sheetsSyncService = new SheetsSyncService(
+            formSubmissionRepository, sheetsSyncStateRepository, googleSheetsService, transactionManager,
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sheetsSyncService, "chunkSize", 2);
+        lenient().when(sheetsSyncStateRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void runFullSync_FreshRun_ClearsSheetAndWritesChunksInIdOrder() {
+        // Given
+        when(sheetsSyncStateRepository.findById(SheetsSyncStateEntity.FULL_SYNC)).thenReturn(Optional.empty());
+        when(formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(submission(1L), submission(2L)));
+        when(formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(submission(5L)));
+        when(formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 2)))
+            .thenReturn(List.of());
+        doAnswer(invocation -> {
+            // Outbox delivery holds back while the sheet is rewritten
+            assertTrue(sheetsSyncService.isFullSyncInProgress());
+            return null;
+        }).when(googleSheetsService).clearSheet();
+
+        // When
+        long synced = sheetsSyncService.runFullSync();
+
+        // Then
+        assertEquals(3, synced);
+        assertFalse(sheetsSyncService.isFullSyncInProgress());
+        InOrder inOrder = inOrder(googleSheetsService);
+        inOrder.verify(googleSheetsService).clearSheet();
+        inOrder.verify(googleSheetsService).upsertSubmissionsToSheet(List.of(submission(1L), submission(2L)));
+        inOrder.verify(googleSheetsService).upsertSubmissionsToSheet(List.of(submission(5L)));
+        verify(formSubmissionRepository, never()).findAll();
+    }
+
+    @Test
+    void runFullSync_InterruptedRun_ResumesAfterCheckpoint() {
+        // Given
+        SheetsSyncStateEntity state = new SheetsSyncStateEntity(SheetsSyncStateEntity.FULL_SYNC);
+        state.setRunning(true);
+        state.setLastSyncedId(2L);
+        when(sheetsSyncStateRepository.findById(SheetsSyncStateEntity.FULL_SYNC)).thenReturn(Optional.of(state));
+        when(formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(submission(3L)));
+        when(formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(3L, PageRequest.of(0, 2)))
+            .thenReturn(List.of());
+
+        // When
+        long synced = sheetsSyncService.runFullSync();
+
+        // Then
+        assertEquals(1, synced);
+        verify(googleSheetsService, never()).clearSheet();
+        assertFalse(state.isRunning());
+        assertEquals(3L, state.getLastSyncedId());
+        assertNotNull(state.getCompletedAt());
+    }
+
+    @Test
+    void runFullSync_SheetWriteFails_KeepsCheckpointForResume() {
+        // Given
+        when(sheetsSyncStateRepository.findById(SheetsSyncStateEntity.FULL_SYNC)).thenReturn(Optional.empty());
+        when(formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(submission(1L), submission(2L)));
+        when(formSubmissionRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(submission(3L)));
+        doNothing().doThrow(new IllegalStateException("Sheets unavailable"))
+            .when(googleSheetsService).upsertSubmissionsToSheet(any());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> sheetsSyncService.runFullSync());
+        verify(sheetsSyncStateRepository, atLeastOnce()).save(argThat(saved -> saved.isRunning() && saved.getLastSyncedId() == 2L));
+        // The persisted checkpoint stays for a resume, but outbox delivery is no longer held back
+        assertFalse(sheetsSyncService.isFullSyncInProgress());
+    }
+
+    @Test
+    void runDeltaSync_PushesRowsChangedAfterWatermarkAndAdvancesIt() {
+        // Given
+        LocalDateTime watermark = LocalDateTime.of(2025, 6, 8, 10, 0);
+        SheetsSyncStateEntity state = new SheetsSyncStateEntity(SheetsSyncStateEntity.DELTA_SYNC);
+        state.setWatermark(watermark);
+        state.setLastSyncedId(4L);
+        FormSubmissionEntity changed = submission(7L);
+        changed.setUpdatedAt(watermark.plusMinutes(1));
+        when(sheetsSyncStateRepository.findById(SheetsSyncStateEntity.DELTA_SYNC)).thenReturn(Optional.of(state));
+        when(formSubmissionRepository.findUpdatedSince(eq(watermark), eq(4L), any(), eq(PageRequest.of(0, 2))))
+            .thenReturn(List.of(changed));
+        when(formSubmissionRepository.findUpdatedSince(eq(watermark.plusMinutes(1)), eq(7L), any(), any()))
+            .thenReturn(List.of());
+
+        // When
+        long synced = sheetsSyncService.runDeltaSync();
+
+        // Then
+        assertEquals(1, synced);
+        verify(googleSheetsService).upsertSubmissionsToSheet(List.of(changed));
+        verify(googleSheetsService, never()).clearSheet();
+        assertEquals(watermark.plusMinutes(1), state.getWatermark());
+        assertEquals(7L, state.getLastSyncedId());
+    }
+
+    @Test
+    void runDeltaSync_FirstRun_StartsFromLastFullSync() {
+        // Given
+        LocalDateTime fullSyncStart = LocalDateTime.of(2025, 6, 8, 2, 0);
+        SheetsSyncStateEntity fullSync = new SheetsSyncStateEntity(SheetsSyncStateEntity.FULL_SYNC);
+        fullSync.setStartedAt(fullSyncStart);
+        when(sheetsSyncStateRepository.findById(SheetsSyncStateEntity.DELTA_SYNC)).thenReturn(Optional.empty());
+        when(sheetsSyncStateRepository.findById(SheetsSyncStateEntity.FULL_SYNC)).thenReturn(Optional.of(fullSync));
+        when(formSubmissionRepository.findUpdatedSince(eq(fullSyncStart), eq(0L), any(), any()))
+            .thenReturn(List.of());
+
+        // When
+        long synced = sheetsSyncService.runDeltaSync();
+
+        // Then
+        assertEquals(0, synced);
+        verifyNoInteractions(googleSheetsService);
+    }
+
+    private FormSubmissionEntity submission(Long id) {
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setId(id);
+        return submission;
+    }
+}
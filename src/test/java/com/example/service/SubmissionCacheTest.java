@@ -0,0 +1,143 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads through FormSubmissionService must never return data older than the last committed write
+ */
+@SpringBootTest(properties = {
+    "google.sheets.sink=memory",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.com.example=WARN"
+})
+class SubmissionCacheTest {
+
+    @Autowired
+    private FormSubmissionService formSubmissionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readsAfterEachWriteSeeTheWrite() {
+        // Given: cached by id and by email
+        FormSubmissionEntity created = formSubmissionService.createSubmission(submission("cache-writes@example.com"));
+        Long id = created.getId();
+        formSubmissionService.getSubmissionById(id);
+        formSubmissionService.getSubmissionByEmail("cache-writes@example.com");
+        assertEquals("Cache User", formSubmissionService.getSubmissionById(id).orElseThrow().getName());
+
+        // updateSubmission
+        FormSubmissionEntity changes = submission("cache-writes@example.com");
+        changes.setName("Renamed User");
+        formSubmissionService.updateSubmission(id, changes);
+        assertEquals("Renamed User", formSubmissionService.getSubmissionById(id).orElseThrow().getName());
+        assertEquals("Renamed User",
+            formSubmissionService.getSubmissionByEmail("cache-writes@example.com").orElseThrow().getName());
+
+        // updateSubmissionStatus
+        formSubmissionService.updateSubmissionStatus(id, SubmissionStatus.PROCESSING);
+        assertEquals(SubmissionStatus.PROCESSING, formSubmissionService.getSubmissionById(id).orElseThrow().getStatus());
+
+        // bulkUpdateStatus
+        formSubmissionService.bulkUpdateStatus(List.of(id), SubmissionStatus.APPROVED);
+        assertEquals(SubmissionStatus.APPROVED, formSubmissionService.getSubmissionById(id).orElseThrow().getStatus());
+        assertEquals(SubmissionStatus.APPROVED,
+            formSubmissionService.getSubmissionByEmail("cache-writes@example.com").orElseThrow().getStatus());
+
+        // deleteSubmission
+        formSubmissionService.deleteSubmission(id);
+        assertTrue(formSubmissionService.getSubmissionById(id).isEmpty());
+        assertTrue(formSubmissionService.getSubmissionByEmail("cache-writes@example.com").isEmpty());
+
+        double hits = meterRegistry.get("cache.gets").tag("cache", "submissions.by-id").tag("result", "hit")
+            .functionCounter().count();
+        assertTrue(hits > 0);
+    }
+
+    @Test
+    void rolledBackWriteIsNeverCached() {
+        // Given
+        Long id = formSubmissionService.createSubmission(submission("cache-rollback@example.com")).getId();
+        formSubmissionService.getSubmissionById(id);
+
+        // When: the writer reads its own change, then rolls back
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            formSubmissionService.updateSubmissionStatus(id, SubmissionStatus.REJECTED);
+            assertEquals(SubmissionStatus.REJECTED, formSubmissionService.getSubmissionById(id).orElseThrow().getStatus());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(SubmissionStatus.PENDING, formSubmissionService.getSubmissionById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void concurrentReadersNeverSeeAnOlderVersionThanTheLastCommittedWrite() throws Exception {
+        // Given
+        Long id = formSubmissionService.createSubmission(submission("cache-race@example.com")).getId();
+        AtomicInteger committedVersion = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+
+        // When: readers race a writer that bumps the name after every commit
+        List<Future<Integer>> staleReads = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            staleReads.add(readers.submit(() -> {
+                int stale = 0;
+                while (writing.get()) {
+                    int committedBeforeRead = committedVersion.get();
+                    String name = formSubmissionService.getSubmissionById(id).orElseThrow().getName();
+                    int readVersion = name.startsWith("Version ") ? Integer.parseInt(name.substring(8)) : 0;
+                    if (readVersion < committedBeforeRead) {
+                        stale++;
+                    }
+                }
+                return stale;
+            }));
+        }
+        for (int version = 1; version <= 200; version++) {
+            FormSubmissionEntity changes = submission("cache-race@example.com");
+            changes.setName("Version " + version);
+            formSubmissionService.updateSubmission(id, changes);
+            committedVersion.set(version);
+        }
+        writing.set(false);
+
+        // Then
+        for (Future<Integer> reader : staleReads) {
+            assertEquals(0, reader.get());
+        }
+        readers.shutdown();
+        assertEquals("Version 200", formSubmissionService.getSubmissionById(id).orElseThrow().getName());
+    }
+
+    private static FormSubmissionEntity submission(String email) {
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setName("Cache User");
+        submission.setEmail(email);
+        submission.setAddress("1 Cache Street");
+        return submission;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import com.example.repository.FormSubmissionRepository;
+import com.example.service.SubmissionExportService.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({SubmissionExportService.class, JacksonAutoConfiguration.class})
+class SubmissionExportServiceTest {
+
+    @Autowired
+    private SubmissionExportService submissionExportService;
+
+    @Autowired
+    private FormSubmissionRepository formSubmissionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private FormSubmissionEntity approved;
+    private FormSubmissionEntity pending;
+
+    @BeforeEach
+    void setUp() {
+        approved = submission("Jane Doe", "jane@example.com", SubmissionStatus.APPROVED);
+        approved.setComments("Said \"hi\", then left\nfor lunch");
+        approved.setSubmittedByIp("10.0.0.1");
+        pending = submission("John Smith", "john@example.com", SubmissionStatus.PENDING);
+        formSubmissionRepository.saveAllAndFlush(List.of(approved, pending));
+    }
+
+    @Test
+    void exportCsv_WritesHeaderAndSheetLayoutQuotingWhereNeeded() throws IOException {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = submissionExportService.export(ExportFormat.CSV, null, null, null, false, out);
+
+        // Then
+        assertEquals(2, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(String.join(",", SubmissionRowLayout.HEADERS), lines[0]);
+        String expectedApproved = String.join(",", SubmissionRowLayout.toRow(approved))
+            .replace("Said \"hi\", then left\nfor lunch", "\"Said \"\"hi\"\", then left\nfor lunch\"");
+        assertEquals(expectedApproved, lines[1]);
+        assertEquals(String.join(",", SubmissionRowLayout.toRow(pending)), lines[2]);
+        assertEquals(3, lines.length);
+    }
+
+    @Test
+    void exportCsv_CellsStartingWithAFormulaCharacter_AreWrittenAsText() throws IOException {
+        // Given
+        pending.setName("=HYPERLINK(\"http://evil.example\",\"x\")");
+        pending.setAddress("@SUM(A1:A9)");
+        pending.setPhoneNumber("+1 555 0100");
+        pending.setComments("-2+3");
+        formSubmissionRepository.saveAndFlush(pending);
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        submissionExportService.export(ExportFormat.CSV, SubmissionStatus.PENDING, null, null, false, out);
+
+        // Then
+        String row = out.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+        assertTrue(row.contains(",\"'=HYPERLINK(\"\"http://evil.example\"\",\"\"x\"\")\","), row);
+        assertTrue(row.contains(",'@SUM(A1:A9),'+1 555 0100,'-2+3,"), row);
+    }
+
+    @Test
+    void exportGzippedNdjson_FiltersByStatusAndDateRange() throws IOException {
+        // Given
+        LocalDateTime createdAt = approved.getCreatedAt();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = submissionExportService.export(ExportFormat.NDJSON, SubmissionStatus.APPROVED,
+            createdAt.minusMinutes(1), createdAt.plusMinutes(1), true, out);
+
+        // Then
+        assertEquals(1, written);
+        String content = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+            StandardCharsets.UTF_8);
+        assertTrue(content.endsWith("\n"));
+        String[] lines = content.split("\n");
+        assertEquals(1, lines.length);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertEquals(approved.getId().toString(), row.get("id").asText());
+        assertEquals("jane@example.com", row.get("email").asText());
+        assertEquals("APPROVED", row.get("status").asText());
+        assertEquals("", row.get("phoneNumber").asText());
+        assertEquals(SubmissionRowLayout.toRow(approved).get(7), row.get("createdAt").asText());
+    }
+
+    @Test
+    void export_NoMatches_WritesOnlyCsvHeader() throws IOException {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = submissionExportService.export(ExportFormat.CSV, SubmissionStatus.REJECTED, null, null, false, out);
+
+        // Then
+        assertEquals(0, written);
+        assertEquals(String.join(",", SubmissionRowLayout.HEADERS) + "\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static FormSubmissionEntity submission(String name, String email, SubmissionStatus status) {
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setName(name);
+        submission.setEmail(email);
+        submission.setAddress("1 Main Street");
+        submission.setStatus(status);
+        return submission;
+    }
+}
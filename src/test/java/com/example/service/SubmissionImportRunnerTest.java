@@ -0,0 +1,69 @@
+package com.example.service;
+
+import com.example.service.SubmissionImportService.ImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionImportRunnerTest {
+
+    @Mock
+    private SubmissionImportService submissionImportService;
+
+    @TempDir
+    private Path tempDir;
+
+    private SubmissionImportRunner runner;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(tempDir.resolve("submissions.csv"), "Name,Email,Address\n");
+        runner = new SubmissionImportRunner(submissionImportService);
+        ReflectionTestUtils.setField(runner, "file", file.toString());
+        ReflectionTestUtils.setField(runner, "reportFile", "");
+    }
+
+    @Test
+    void run_AllRowsImported_ExitsWithZero() throws Exception {
+        // Given
+        when(submissionImportService.importCsv(any(), isNull(), eq(Path.of(file + ".errors.csv"))))
+            .thenReturn(new ImportResult(3, 3, 0, null));
+
+        // When
+        runner.run(new DefaultApplicationArguments());
+
+        // Then
+        assertEquals(0, runner.getExitCode());
+    }
+
+    @Test
+    void run_RowsRejected_ExitsWithRowsRejected() throws Exception {
+        // Given
+        Path report = tempDir.resolve("errors.csv");
+        ReflectionTestUtils.setField(runner, "reportFile", report.toString());
+        when(submissionImportService.importCsv(any(), isNull(), eq(report)))
+            .thenReturn(new ImportResult(3, 2, 1, report));
+
+        // When
+        runner.run(new DefaultApplicationArguments());
+
+        // Then
+        assertEquals(SubmissionImportRunner.ROWS_REJECTED, runner.getExitCode());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.mapper.FormSubmissionMapper;
+import com.example.service.FormSubmissionService.BatchItemResult;
+import com.example.service.SubmissionImportService.ImportResult;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionImportServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private FormSubmissionService formSubmissionService;
+
+    @TempDir
+    private Path tempDir;
+
+    private SubmissionImportService submissionImportService;
+
+    @BeforeEach
+    void setUp() {
+        submissionImportService = new SubmissionImportService(formSubmissionService, new FormSubmissionMapper(), VALIDATOR);
+        ReflectionTestUtils.setField(submissionImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(submissionImportService, "reportDir", tempDir.toString());
+    }
+
+    @Test
+    void importCsv_PersistsValidRowsInChunksAndReportsRejectedOnes() throws IOException {
+        // Given
+        AtomicLong ids = new AtomicLong();
+        when(formSubmissionService.createSubmissions(anyList())).thenAnswer(invocation -> {
+            List<FormSubmissionEntity> submissions = invocation.getArgument(0);
+            return submissions.stream()
+                .map(submission -> {
+                    if (submission.getEmail().equals("taken@example.com")) {
+                        return BatchItemResult.rejected("Email already exists: taken@example.com");
+                    }
+                    submission.setId(ids.incrementAndGet());
+                    return BatchItemResult.created(submission);
+                })
+                .toList();
+        });
+        String csv = """
+            Name,Email,Address,Phone Number,Comments
+            Jane Doe,jane@example.com,1 Main Street,555-0100,"Likes ""quotes"", commas
+            and line breaks"
+            ,nobody@example.com,2 Main Street,,
+            John Smith,jane@example.com,3 Main Street,,
+            Old Timer,taken@example.com,4 Main Street,,
+
+            Too,few@example.com
+            Mary Ann,mary@example.com,5 Main Street,,
+            """;
+        Path report = tempDir.resolve("report.csv");
+
+        // When
+        ImportResult result = submissionImportService.importCsv(csv(csv), "10.0.0.1", report);
+
+        // Then
+        assertEquals(6, result.received());
+        assertEquals(2, result.created());
+        assertEquals(4, result.rejected());
+        assertEquals(report, result.errorReport());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FormSubmissionEntity>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(formSubmissionService, times(3)).createSubmissions(chunks.capture());
+        FormSubmissionEntity jane = chunks.getAllValues().get(0).get(0);
+        assertEquals("Likes \"quotes\", commas\nand line breaks", jane.getComments());
+        assertEquals("10.0.0.1", jane.getSubmittedByIp());
+        assertNull(chunks.getAllValues().get(1).get(0).getPhoneNumber());
+
+        assertEquals(List.of(
+            "row,email,error",
+            "2,nobody@example.com,Name is required",
+            "3,jane@example.com,Duplicate email in file",
+            "4,taken@example.com,Email already exists: taken@example.com",
+            "5,few@example.com,Expected 5 columns but found 2"
+        ), Files.readAllLines(report));
+    }
+
+    @Test
+    void importCsv_AllRowsValid_WritesNoReport() throws IOException {
+        // Given
+        when(formSubmissionService.createSubmissions(anyList())).thenAnswer(invocation -> {
+            List<FormSubmissionEntity> submissions = invocation.getArgument(0);
+            return submissions.stream().map(BatchItemResult::created).toList();
+        });
+        String csv = "email,name,address\r\na@example.com,A,1 Street\r\nb@example.com,B,2 Street\r\n";
+
+        // When
+        ImportResult result = submissionImportService.importCsv(csv(csv), null);
+
+        // Then
+        assertEquals(2, result.created());
+        assertNull(result.errorReport());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void importCsv_MissingRequiredColumn_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> submissionImportService.importCsv(csv("name,email\nA,a@example.com\n"), null));
+        verifyNoInteractions(formSubmissionService);
+    }
+
+    @Test
+    void findReport_OnlyResolvesGeneratedReportNames() throws IOException {
+        // Given
+        String name = "import-20250101-120000-0123abcd.csv";
+        Files.writeString(tempDir.resolve(name), "row,email,error\r\n");
+
+        // Then
+        assertEquals(tempDir.resolve(name), submissionImportService.findReport(name).orElseThrow());
+        assertTrue(submissionImportService.findReport("import-20250101-120000-ffffffff.csv").isEmpty());
+        assertTrue(submissionImportService.findReport("../application.yml").isEmpty());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
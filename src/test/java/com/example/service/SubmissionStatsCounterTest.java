@@ -0,0 +1,77 @@
+package com.example.service;
+
+import com.example.entity.FormSubmissionEntity.SubmissionStatus;
+import com.example.repository.FormSubmissionRepository;
+import com.example.repository.FormSubmissionRepository.StatusCount;
+import com.example.service.FormSubmissionService.SubmissionStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionStatsCounterTest {
+
+    @Mock
+    private FormSubmissionRepository formSubmissionRepository;
+
+    @InjectMocks
+    private SubmissionStatsCounter submissionStatsCounter;
+
+    @Test
+    void snapshot_LoadsAllStatusesWithOneGroupedQuery() {
+        // Given
+        when(formSubmissionRepository.countGroupedByStatus()).thenReturn(List.of(
+            statusCount(SubmissionStatus.PENDING, 5),
+            statusCount(SubmissionStatus.APPROVED, 3),
+            statusCount(SubmissionStatus.PROCESSING, 2)
+        ));
+
+        // When
+        SubmissionStats stats = submissionStatsCounter.snapshot();
+
+        // Then
+        assertEquals(new SubmissionStats(10, 5, 3, 0, 2), stats);
+        verify(formSubmissionRepository, times(1)).countGroupedByStatus();
+        verifyNoMoreInteractions(formSubmissionRepository);
+    }
+
+    @Test
+    void recordedWrites_AdjustCountersWithoutQueryingDatabase() {
+        // Given
+        when(formSubmissionRepository.countGroupedByStatus()).thenReturn(List.of(
+            statusCount(SubmissionStatus.PENDING, 2)
+        ));
+        submissionStatsCounter.reconcile();
+
+        // When
+        submissionStatsCounter.recordCreated(SubmissionStatus.PENDING);
+        submissionStatsCounter.recordStatusChanged(SubmissionStatus.PENDING, SubmissionStatus.APPROVED);
+        submissionStatsCounter.recordStatusChanged(SubmissionStatus.PENDING, SubmissionStatus.REJECTED);
+        submissionStatsCounter.recordDeleted(SubmissionStatus.REJECTED);
+
+        // Then
+        assertEquals(new SubmissionStats(2, 1, 1, 0, 0), submissionStatsCounter.snapshot());
+        verify(formSubmissionRepository, times(1)).countGroupedByStatus();
+    }
+
+    private StatusCount statusCount(SubmissionStatus status, long count) {
+        return new StatusCount() {
+            @Override
+            public SubmissionStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
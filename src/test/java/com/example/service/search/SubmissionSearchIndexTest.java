@@ -0,0 +1,136 @@
+package com.example.service.search;
+
+import com.example.entity.FormSubmissionEntity;
+import com.example.service.search.SubmissionSearchIndex.SearchField;
+import com.example.service.search.SubmissionSearchIndex.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionSearchIndexTest {
+
+    private final SubmissionSearchIndex index = new SubmissionSearchIndex();
+
+    @Test
+    void search_MatchesCaseInsensitiveSubstringsLikeTheLikeQuery() {
+        // Given
+        index.indexAll(List.of(
+            submission(1L, "John Doe", "123 Main St, New York", null),
+            submission(2L, "Jane Johnson", "9 Elm Road, Boston", "call after 5pm"),
+            submission(3L, "Bob Smith", "1 Main Street, Austin", null)
+        ));
+
+        // When / Then
+        assertEquals(List.of(2L, 1L), search("OHN", Set.of(SearchField.NAME)).ids());
+        assertEquals(List.of(3L, 1L), search("main st", Set.of(SearchField.ADDRESS)).ids());
+        assertEquals(List.of(), search("xyz", SearchField.all()).ids());
+        assertEquals(List.of(), search("boston", Set.of(SearchField.NAME)).ids());
+        assertEquals(List.of(2L), search("after", SearchField.all()).ids());
+    }
+
+    @Test
+    void search_RanksExactAndPrefixMatchesAboveOtherSubstrings() {
+        // Given
+        index.indexAll(List.of(
+            submission(1L, "Annabelle", null, null),
+            submission(2L, "Mary Ann", null, null),
+            submission(3L, "Ann", null, null),
+            submission(4L, "Joanna", null, null),
+            submission(5L, "Other", null, "ask for ann")
+        ));
+
+        // When
+        SearchResult result = search("ann", SearchField.all());
+
+        // Then exact name, name prefix, name word start, name substring, then the comments-only match
+        assertEquals(List.of(3L, 1L, 2L, 4L, 5L), result.ids());
+        assertEquals(5, result.totalMatches());
+    }
+
+    @Test
+    void search_PagesThroughRankedMatches() {
+        // Given
+        for (long id = 1; id <= 25; id++) {
+            index.index(submission(id, "Customer " + id, null, null));
+        }
+
+        // When
+        SearchResult secondPage = index.search("customer", Set.of(SearchField.NAME), 10, 10);
+
+        // Then ties are broken by newest id first
+        assertEquals(25, secondPage.totalMatches());
+        assertEquals(List.of(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L), secondPage.ids());
+    }
+
+    @Test
+    void indexAndRemove_KeepIndexInSyncWithChanges() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        index.index(submission(1L, "John Doe", null, null, now));
+        index.index(submission(2L, "John Roe", null, null, now));
+
+        // When
+        index.index(submission(1L, "Jack Doe", null, null, now.plusSeconds(1)));
+        index.index(submission(1L, "John Stale", null, null, now));
+        index.remove(2L);
+
+        // Then
+        assertEquals(1, index.size());
+        assertEquals(List.of(), search("john", Set.of(SearchField.NAME)).ids());
+        assertEquals(List.of(1L), search("jack", Set.of(SearchField.NAME)).ids());
+    }
+
+    @Test
+    void compact_DropsReplacedDocumentsWithoutChangingResults() {
+        // Given
+        for (long id = 1; id <= 100; id++) {
+            index.index(submission(id, "Old " + id, null, null));
+            index.index(submission(id, "New " + id, null, null));
+        }
+        index.remove(1L);
+
+        // When
+        index.compact();
+
+        // Then
+        assertEquals(99, index.size());
+        assertEquals(List.of(), search("old", Set.of(SearchField.NAME)).ids());
+        assertEquals(List.of(42L), search("new 42", Set.of(SearchField.NAME)).ids());
+    }
+
+    @Test
+    void search_QueriesShorterThanTrigramScanLiveDocuments() {
+        // Given
+        index.indexAll(List.of(
+            submission(1L, "Li Wei", null, null),
+            submission(2L, "Bob", null, null)
+        ));
+
+        // When / Then
+        assertEquals(List.of(1L), search("li", Set.of(SearchField.NAME)).ids());
+        assertEquals(2, search("", Set.of(SearchField.NAME)).totalMatches());
+    }
+
+    private SearchResult search(String query, Set<SearchField> fields) {
+        return index.search(query, fields, 0, 20);
+    }
+
+    private static FormSubmissionEntity submission(Long id, String name, String address, String comments) {
+        return submission(id, name, address, comments, null);
+    }
+
+    private static FormSubmissionEntity submission(Long id, String name, String address, String comments,
+                                                   LocalDateTime updatedAt) {
+        FormSubmissionEntity submission = new FormSubmissionEntity();
+        submission.setId(id);
+        submission.setName(name);
+        submission.setAddress(address);
+        submission.setComments(comments);
+        submission.setUpdatedAt(updatedAt);
+        return submission;
+    }
+}